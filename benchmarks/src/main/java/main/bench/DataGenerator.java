@@ -0,0 +1,93 @@
+package main.bench;
+
+import main.managers.ScoreStore;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+// Synthetic score files and sentence corpora for the benchmarks. The same seed always
+// produces the same data, so results from different runs compare like for like.
+//
+// Usage: java -cp target/benchmarks.jar main.bench.DataGenerator scores <file> <players> [seed]
+//        java -cp target/benchmarks.jar main.bench.DataGenerator sentences <file> <count> [seed]
+public final class DataGenerator {
+    public static final int MAX_SCORE = 10_000;
+
+    private static final String[] WORDS = {
+        "the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "keyboard", "practice",
+        "makes", "perfect", "every", "morning", "typing", "speed", "accuracy", "matters", "more",
+        "than", "raw", "velocity", "compiler", "optimizes", "recursive", "function", "calls",
+        "whenever", "possible", "network", "latency", "depends", "on", "distance", "and",
+        "congestion", "algorithms", "data", "structures", "memory", "allocation", "garbage",
+        "collection", "pauses", "threads", "synchronize", "through", "locks", "while", "readers"
+    };
+
+    private DataGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: DataGenerator scores|sentences <file> <count> [seed]");
+            System.exit(1);
+        }
+        Path file = Paths.get(args[1]);
+        int count = Integer.parseInt(args[2]);
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        if (args[0].equals("scores")) {
+            writeScores(file, count, seed);
+        } else {
+            writeSentences(file, count, seed);
+        }
+    }
+
+    public static String playerName(int i) {
+        return "player" + i;
+    }
+
+    // One "name:score" line per player, in the format ScoreLog reads
+    public static void writeScores(Path file, int players, long seed) throws IOException {
+        Random rand = new Random(seed);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < players; i++) {
+                writer.write(playerName(i) + ":" + rand.nextInt(MAX_SCORE));
+                writer.newLine();
+            }
+        }
+    }
+
+    // Same players and scores as writeScores, recorded straight into a store
+    public static void fillStore(ScoreStore store, int players, long seed) {
+        Random rand = new Random(seed);
+        for (int i = 0; i < players; i++) {
+            store.record(playerName(i), rand.nextInt(MAX_SCORE));
+        }
+    }
+
+    public static void writeSentences(Path file, int count, long seed) throws IOException {
+        Random rand = new Random(seed);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(sentence(rand, 20 + rand.nextInt(100)));
+                writer.newLine();
+            }
+        }
+    }
+
+    // A sentence of random words, roughly the given number of characters long
+    public static String sentence(Random rand, int length) {
+        StringBuilder sb = new StringBuilder(length + 16);
+        while (sb.length() < length) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[rand.nextInt(WORDS.length)]);
+        }
+        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+        return sb.append('.').toString();
+    }
+}
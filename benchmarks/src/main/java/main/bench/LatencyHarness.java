@@ -0,0 +1,259 @@
+package main.bench;
+
+import main.managers.Difficulty;
+import main.managers.Player;
+import main.managers.SentenceCorpus;
+import main.managers.SentenceLoader;
+import main.utils.GamePanel;
+import main.utils.SentenceView;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+// Measures keystroke-to-screen latency of a real GamePanel. Synthetic KeyEvents are
+// queued for the input field one at a time; a key's latency runs from the moment it is
+// queued until the end of the first repaint that started after it was dispatched, so
+// time spent waiting behind other work on the EDT counts too.
+//
+// Needs a display; on a server run it under Xvfb:
+//   xvfb-run java -cp target/benchmarks.jar main.bench.LatencyHarness
+public final class LatencyHarness {
+    private static final int MAX_EVENTS = 1 << 16;
+    private static final long SETTLE_MILLIS = 500;
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final long[] postedAt = new long[MAX_EVENTS];
+    private final long[] latency = new long[MAX_EVENTS];
+    private final boolean[] measured = new boolean[MAX_EVENTS];
+    private int posted;               // Harness thread only
+    private volatile int dispatched;  // Written on the EDT
+    private volatile int completed;   // Written on the EDT
+
+    // Stamps every key that was dispatched before a paint started once that paint is on screen
+    private final class TimingRepaintManager extends RepaintManager {
+        @Override
+        public void paintDirtyRegions() {
+            int upTo = dispatched;
+            super.paintDirtyRegions();
+            Toolkit.getDefaultToolkit().sync();
+            long now = System.nanoTime();
+            for (int k = completed; k < upTo; k++) {
+                latency[k] = now - postedAt[k];
+            }
+            completed = Math.max(completed, upTo);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println("LatencyHarness needs a display; run it under Xvfb (xvfb-run)");
+            System.exit(2);
+        }
+        // Game-over scenarios save scores; keep them out of the real leaderboard
+        Path scores = Files.createTempFile("harness-scores", ".txt");
+        System.setProperty("highscores.file", scores.toString());
+
+        LatencyHarness harness = new LatencyHarness();
+        SwingUtilities.invokeAndWait(() -> RepaintManager.setCurrentManager(harness.new TimingRepaintManager()));
+
+        System.out.printf("%-16s %7s %9s %9s %9s%n", "scenario", "events", "p50 ms", "p99 ms", "max ms");
+        harness.steadyTyping();
+        harness.longHardSentence();
+        harness.burstTyping();
+        harness.nextSentenceTransition();
+        harness.gameOverTransition();
+
+        Files.deleteIfExists(scores);
+        System.exit(0);
+    }
+
+    // A medium sentence at a brisk but human 60 ms per key
+    private void steadyTyping() throws Exception {
+        Game game = start(Difficulty.MEDIUM, null);
+        type(game, game.sentence(), 60, true);
+        finish("steady");
+    }
+
+    // The longest line of hard_sentences.txt, where layout and matching cost the most
+    private void longHardSentence() throws Exception {
+        SentenceCorpus hard = SentenceCorpus.load(Difficulty.HARD.getSentenceFile());
+        String longest = "";
+        for (int i = 0; i < hard.size(); i++) {
+            if (hard.get(i).length() > longest.length()) {
+                longest = hard.get(i);
+            }
+        }
+        Game game = start(Difficulty.HARD, longest);
+        type(game, longest, 30, true);
+        finish("long-hard");
+    }
+
+    // Keys queued back to back, faster than the EDT can paint them
+    private void burstTyping() throws Exception {
+        Game game = start(Difficulty.MEDIUM, null);
+        String sentence = game.sentence();
+        type(game, sentence + sentence + sentence, 0, true);
+        finish("burst");
+    }
+
+    // Enter on a correct answer: scoring, the next sentence and its layout
+    private void nextSentenceTransition() throws Exception {
+        Game game = start(Difficulty.EASY, null);
+        for (int i = 0; i < 20; i++) {
+            type(game, game.sentence(), 0, false);
+            awaitPainted();
+            enter(game, true);
+            awaitPainted();
+        }
+        finish("next-sentence");
+    }
+
+    // The third wrong answer ends the game and opens GameOverFrame
+    private void gameOverTransition() throws Exception {
+        for (int run = 0; run < 5; run++) {
+            Game game = start(Difficulty.EASY, null);
+            for (int life = 0; life < 3; life++) {
+                type(game, "x", 0, false);
+                awaitPainted();
+                enter(game, life == 2);
+                awaitPainted();
+            }
+            closeAllWindows();
+        }
+        report("game-over");
+    }
+
+    private static final class Game {
+        GamePanel panel;
+        JTextField input;
+        SentenceView view;
+
+        String sentence() throws Exception {
+            String[] text = new String[1];
+            SwingUtilities.invokeAndWait(() -> text[0] = view.getText());
+            return text[0];
+        }
+    }
+
+    private Game start(Difficulty difficulty, String onlySentence) throws Exception {
+        SentenceLoader loader = onlySentence == null ? new SentenceLoader(difficulty)
+                : new SentenceLoader(SentenceCorpus.fromBytes((onlySentence + "\n").getBytes(StandardCharsets.UTF_8)), 1);
+        Game game = new Game();
+        SwingUtilities.invokeAndWait(() -> {
+            game.panel = new GamePanel(new Player("harness"), difficulty, loader);
+            game.input = find(game.panel, JTextField.class);
+            game.view = find(game.panel, SentenceView.class);
+        });
+        Thread.sleep(SETTLE_MILLIS);
+        return game;
+    }
+
+    private void finish(String scenario) throws Exception {
+        awaitPainted();
+        report(scenario);
+        closeAllWindows();
+    }
+
+    private void type(Game game, String text, long intervalMillis, boolean measure) throws InterruptedException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            post(game.input, new KeyEvent(game.input, KeyEvent.KEY_TYPED, System.currentTimeMillis(), 0,
+                    KeyEvent.VK_UNDEFINED, c), measure);
+            if (intervalMillis > 0) {
+                Thread.sleep(intervalMillis);
+            }
+        }
+    }
+
+    private void enter(Game game, boolean measure) {
+        post(game.input, new KeyEvent(game.input, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0,
+                KeyEvent.VK_ENTER, '\n'), measure);
+    }
+
+    // Dispatched straight to the field, so it works without the window having focus
+    private void post(Component target, KeyEvent event, boolean measure) {
+        int k = posted++;
+        measured[k] = measure;
+        postedAt[k] = System.nanoTime();
+        EventQueue.invokeLater(() -> {
+            target.dispatchEvent(event);
+            dispatched = k + 1;
+        });
+    }
+
+    private void awaitPainted() throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT_NANOS;
+        while (completed < posted && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void reset() {
+        posted = 0;
+        dispatched = 0;
+        completed = 0;
+    }
+
+    private void report(String scenario) {
+        long[] values = new long[posted];
+        int n = 0;
+        int unpainted = 0;
+        for (int k = 0; k < posted; k++) {
+            if (!measured[k]) {
+                continue;
+            }
+            if (k >= completed) {
+                unpainted++;
+            } else {
+                values[n++] = latency[k];
+            }
+        }
+        Arrays.sort(values, 0, n);
+        System.out.printf("%-16s %7d %9.2f %9.2f %9.2f%s%n", scenario, n,
+                millis(percentile(values, n, 50)), millis(percentile(values, n, 99)),
+                millis(n == 0 ? 0 : values[n - 1]),
+                unpainted > 0 ? "  (" + unpainted + " never painted)" : "");
+        reset();
+    }
+
+    private static long percentile(long[] sorted, int n, double p) {
+        if (n == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * n) - 1;
+        return sorted[Math.max(0, Math.min(n - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static void closeAllWindows() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            for (Window window : Window.getWindows()) {
+                window.dispose();
+            }
+        });
+    }
+
+    private static <T extends Component> T find(Container root, Class<T> type) {
+        for (Component child : root.getComponents()) {
+            if (type.isInstance(child)) {
+                return type.cast(child);
+            }
+            if (child instanceof Container) {
+                T found = find((Container) child, type);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,84 @@
+package main.bench;
+
+import main.managers.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Answer grading (what GamePanel.checkInput does through GameEngine.submit) and the
+// per-keystroke matching that runs on every document edit
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchingBenchmark {
+    @Param({"30", "120", "400"})
+    public int length;
+
+    private String sentence;
+    private String typo;  // A few characters wrong: passes with reduced points
+    private String almost; // Near miss: graded without changing any game state
+    private String wrong; // Unrelated text: rejected by the distance bound
+    private GameEngine engine;
+    private final EditDistance distance = new EditDistance();
+    private final TypingMatcher matcher = new TypingMatcher();
+    private long now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rand = new Random(42);
+        sentence = DataGenerator.sentence(rand, length);
+        typo = corrupt(sentence, Math.max(1, sentence.length() / 20), rand);
+        almost = corrupt(sentence, sentence.length() / 6, rand);
+        wrong = DataGenerator.sentence(rand, sentence.length() - 1);
+
+        SentenceCorpus corpus = SentenceCorpus.fromBytes((sentence + "\n").getBytes(StandardCharsets.UTF_8));
+        engine = new GameEngine(new Player("bench"), Difficulty.HARD, new SentenceLoader(corpus, 42),
+                new VirtualCountdown(Difficulty.HARD.getInitialTime()));
+        engine.nextSentence();
+        distance.setPattern(sentence);
+        matcher.reset(sentence);
+    }
+
+    private static String corrupt(String text, int errors, Random rand) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < errors; i++) {
+            int at = rand.nextInt(chars.length);
+            chars[at] = chars[at] == 'x' ? 'y' : 'x';
+        }
+        return new String(chars);
+    }
+
+    @Benchmark
+    public AnswerResult submitTypo() {
+        AnswerResult result = engine.submit(typo, now += 5_000_000_000L);
+        engine.nextSentence();
+        return result;
+    }
+
+    @Benchmark
+    public AnswerResult submitAlmost() {
+        return engine.submit(almost, now += 1_000_000L);
+    }
+
+    // Same bounded distance that submit() uses; a wrong answer would end the game after 3 lives
+    @Benchmark
+    public int gradeWrong() {
+        int maxErrors = (int) Math.floor((1 - GameEngine.FORGIVE_ACCURACY) * sentence.length());
+        return distance.distance(wrong, maxErrors);
+    }
+
+    // Types the whole sentence one character at a time, as the document listener does
+    @Benchmark
+    public int typeSentence() {
+        matcher.reset(sentence);
+        for (int i = 0; i < typo.length(); i++) {
+            matcher.insert(i, typo.subSequence(i, i + 1), now += 100_000_000L);
+        }
+        return matcher.getMistakes();
+    }
+}
@@ -0,0 +1,78 @@
+package main.bench;
+
+import main.managers.HighScoreManager;
+import main.managers.MappedScoreStore;
+import main.managers.ScoreLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// HighScoreManager operations on score tables of 1k to 1M players, for both backends
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoreBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int players;
+
+    @Param({"log", "mapped"})
+    public String backend;
+
+    private Path dir;
+    private HighScoreManager manager;
+    private int next;
+    private int raise = DataGenerator.MAX_SCORE;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("score-bench");
+        if (backend.equals("log")) {
+            Path file = dir.resolve("highscores.txt");
+            DataGenerator.writeScores(file, players, 42);
+            manager = new HighScoreManager(ScoreLog.open(file.toString()));
+        } else {
+            MappedScoreStore store = MappedScoreStore.open(dir.resolve("highscores.bin").toString());
+            DataGenerator.fillStore(store, players, 42);
+            manager = new HighScoreManager(store);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        manager.flushAsync().join();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private String nextPlayer() {
+        next = (next + 7919) % players;
+        return DataGenerator.playerName(next);
+    }
+
+    // Every save raises a score, so the ordering really changes
+    @Benchmark
+    public void saveScore() {
+        manager.saveScore(nextPlayer(), ++raise);
+    }
+
+    @Benchmark
+    public int getPlayerRank() {
+        return manager.getPlayerRank(nextPlayer(), DataGenerator.MAX_SCORE / 2);
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Integer>> getTopScores() {
+        return manager.getTopScores(10);
+    }
+}
@@ -0,0 +1,48 @@
+package main.bench;
+
+import main.managers.SentenceCorpus;
+import main.managers.SentenceLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Loading sentence files and drawing sentences, from a handful of lines to a corpus
+// big enough to be memory-mapped
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SentenceBenchmark {
+    @Param({"100", "10000", "1000000"})
+    public int sentences;
+
+    private Path file;
+    private SentenceLoader loader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("sentences", ".txt");
+        DataGenerator.writeSentences(file, sentences, 42);
+        loader = new SentenceLoader(SentenceCorpus.fromFile(file), 42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public SentenceCorpus load() throws IOException {
+        return SentenceCorpus.fromFile(file);
+    }
+
+    @Benchmark
+    public String draw() {
+        return loader.getRandomSentence();
+    }
+}
@@ -0,0 +1,38 @@
+package main.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("game.AnswerCheck")
+@Label("Answer Check")
+@Category({"Typing Game", "Gameplay"})
+@Description("A submitted answer graded against the current sentence")
+@StackTrace(false)
+public final class AnswerCheckEvent extends jdk.jfr.Event {
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Errors")
+    public int errors;
+
+    @Label("Points")
+    public int points;
+
+    @Label("Typed Length")
+    public int typedLength;
+
+    @Label("Sentence Length")
+    public int sentenceLength;
+
+    @Label("Round")
+    public int round;
+
+    @Label("Lives")
+    public int lives;
+
+    @Label("Game Over")
+    public boolean gameOver;
+}
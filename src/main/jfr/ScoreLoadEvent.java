@@ -0,0 +1,18 @@
+package main.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("game.ScoreLoad")
+@Label("Score Load")
+@Category({"Typing Game", "Scores"})
+@Description("Scores read from the score store")
+public final class ScoreLoadEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Entries")
+    public int entries;
+}
@@ -0,0 +1,21 @@
+package main.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("game.ScoreRank")
+@Label("Score Rank")
+@Category({"Typing Game", "Scores"})
+@Description("A player's rank computed from the score store")
+public final class ScoreRankEvent extends jdk.jfr.Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Score")
+    public int score;
+
+    @Label("Rank")
+    public int rank;
+}
@@ -0,0 +1,25 @@
+package main.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("game.ScoreSave")
+@Label("Score Save")
+@Category({"Typing Game", "Scores"})
+@Description("A score recorded in the score store")
+public final class ScoreSaveEvent extends jdk.jfr.Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Score")
+    public int score;
+
+    @Label("Rank")
+    @Description("Rank after saving, or 0 when it wasn't computed")
+    public int rank;
+
+    @Label("Asynchronous")
+    public boolean async;
+}
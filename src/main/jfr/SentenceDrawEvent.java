@@ -0,0 +1,27 @@
+package main.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("game.SentenceDraw")
+@Label("Sentence Draw")
+@Category({"Typing Game", "Sentences"})
+@Description("A sentence drawn from a corpus")
+@StackTrace(false)
+public final class SentenceDrawEvent extends jdk.jfr.Event {
+    @Label("Difficulty")
+    public String difficulty;
+
+    @Label("Sentence Length")
+    public int sentenceLength;
+
+    @Label("Corpus Size")
+    public int corpusSize;
+
+    @Label("Corpus Reloaded")
+    @Description("The draw switched to a hot-reloaded corpus")
+    public boolean corpusReloaded;
+}
@@ -0,0 +1,32 @@
+package main.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("game.SpeedAdjust")
+@Label("Speed Adjustment")
+@Category({"Typing Game", "Timer"})
+@Description("The countdown's base time shrank for a later round")
+public final class SpeedAdjustEvent extends jdk.jfr.Event {
+    @Label("Round")
+    public int round;
+
+    @Label("Old Base Time")
+    @Timespan(Timespan.MILLISECONDS)
+    public long oldBaseMillis;
+
+    @Label("New Base Time")
+    @Timespan(Timespan.MILLISECONDS)
+    public long newBaseMillis;
+
+    @Label("Remaining Before")
+    @Timespan(Timespan.MILLISECONDS)
+    public long remainingBeforeMillis;
+
+    @Label("Remaining After")
+    @Timespan(Timespan.MILLISECONDS)
+    public long remainingAfterMillis;
+}
@@ -0,0 +1,27 @@
+package main.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("game.TimerTick")
+@Label("Timer Tick")
+@Category({"Typing Game", "Timer"})
+@Description("The countdown woke up to update the display or end the game")
+@StackTrace(false)
+public final class TimerTickEvent extends jdk.jfr.Event {
+    @Label("Remaining")
+    @Timespan(Timespan.MILLISECONDS)
+    public long remainingMillis;
+
+    @Label("Lateness")
+    @Description("How long after its due time the tick ran, on the game clock")
+    @Timespan(Timespan.NANOSECONDS)
+    public long lateNanos;
+
+    @Label("Time Up")
+    public boolean timeUp;
+}
@@ -0,0 +1,43 @@
+package main.managers;
+
+// How GameEngine graded one submitted answer
+public final class AnswerResult {
+    public enum Outcome {
+        PASSED,  // Accepted with points scaled by accuracy
+        ALMOST,  // Near miss: no points, no life lost
+        WRONG    // A life is lost
+    }
+
+    private final Outcome outcome;
+    private final int errors;
+    private final int points;
+    private final boolean gameOver;
+
+    AnswerResult(Outcome outcome, int errors, int points, boolean gameOver) {
+        this.outcome = outcome;
+        this.errors = errors;
+        this.points = points;
+        this.gameOver = gameOver;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean isPassed() {
+        return outcome == Outcome.PASSED;
+    }
+
+    // Edit distance to the sentence; only exact up to the forgiving bound
+    public int getErrors() {
+        return errors;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+}
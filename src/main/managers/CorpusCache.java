@@ -0,0 +1,68 @@
+package main.managers;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Process-wide sentence corpora, one per difficulty. Corpora are immutable, so every
+// game shares the same instance and only gets its own SentenceSampler on top.
+// A reloaded corpus replaces the old one with a single atomic swap.
+public final class CorpusCache {
+    private static final Map<Difficulty, CompletableFuture<SentenceCorpus>> corpora = new EnumMap<>(Difficulty.class);
+    private static final AtomicReferenceArray<SentenceCorpus> current =
+            new AtomicReferenceArray<>(Difficulty.values().length);
+
+    private CorpusCache() {
+    }
+
+    // Starts loading every difficulty's sentence file in parallel without waiting
+    public static void warmAll() {
+        for (Difficulty difficulty : Difficulty.values()) {
+            loading(difficulty);
+        }
+    }
+
+    // Waits for the corpus if it is still loading; a failed load is retried on the next call
+    public static SentenceCorpus get(Difficulty difficulty) throws IOException {
+        SentenceCorpus corpus = current.get(difficulty.ordinal());
+        if (corpus != null) {
+            return corpus;
+        }
+        try {
+            loading(difficulty).join();
+            return current.get(difficulty.ordinal());
+        } catch (CompletionException e) {
+            synchronized (CorpusCache.class) {
+                corpora.remove(difficulty);
+            }
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // Latest loaded corpus, or null if it has not finished loading; never blocks
+    public static SentenceCorpus current(Difficulty difficulty) {
+        return current.get(difficulty.ordinal());
+    }
+
+    public static void replace(Difficulty difficulty, SentenceCorpus corpus) {
+        current.set(difficulty.ordinal(), corpus);
+    }
+
+    private static synchronized CompletableFuture<SentenceCorpus> loading(Difficulty difficulty) {
+        return corpora.computeIfAbsent(difficulty, d -> CompletableFuture.supplyAsync(() -> {
+            try {
+                SentenceCorpus corpus = SentenceCorpus.load(d.getSentenceFile());
+                // A reload that finished first is newer than this initial load
+                current.compareAndSet(d.ordinal(), null, corpus);
+                return corpus;
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }));
+    }
+}
@@ -0,0 +1,96 @@
+package main.managers;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Watches the sentence files in src/main/resources and reloads a difficulty's corpus
+// in the background when its file changes. The new corpus is swapped into CorpusCache
+// only after it parsed successfully, so a broken edit leaves the previous one active.
+public final class CorpusWatcher {
+    private static final Path RESOURCE_DIR = Paths.get("src/main/resources");
+    private static final long DEBOUNCE_MILLIS = 200;
+    private static boolean started;
+
+    private final WatchService watchService;
+    private final ScheduledExecutorService reloader;
+    private final Map<Difficulty, ScheduledFuture<?>> pendingReloads = new EnumMap<>(Difficulty.class);
+
+    private CorpusWatcher(WatchService watchService) {
+        this.watchService = watchService;
+        this.reloader = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "corpus-reloader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Does nothing when the sentences are only available from the classpath.
+    // Call it before the corpora are loaded, so no watched file gets mapped directly.
+    public static synchronized void start() {
+        if (started || !Files.isDirectory(RESOURCE_DIR)) {
+            return;
+        }
+        SentenceCorpus.mapCopies();
+        try {
+            WatchService watchService = FileSystems.getDefault().newWatchService();
+            RESOURCE_DIR.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            Thread thread = new Thread(new CorpusWatcher(watchService)::watch, "corpus-watcher");
+            thread.setDaemon(true);
+            thread.start();
+            started = true;
+        } catch (IOException e) {
+            System.err.println("Sentence hot-reload disabled: " + e.getMessage());
+        }
+    }
+
+    private void watch() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.context() instanceof Path) {
+                    String changed = ((Path) event.context()).getFileName().toString();
+                    for (Difficulty difficulty : Difficulty.values()) {
+                        if (difficulty.getSentenceFile().equals(changed)) {
+                            scheduleReload(difficulty);
+                        }
+                    }
+                }
+            }
+            if (!key.reset()) {
+                return;
+            }
+        }
+    }
+
+    // Editors often write a file in several steps; only the last event in a burst triggers a reload
+    private synchronized void scheduleReload(Difficulty difficulty) {
+        ScheduledFuture<?> pending = pendingReloads.get(difficulty);
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pendingReloads.put(difficulty,
+                reloader.schedule(() -> reload(difficulty), DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    private void reload(Difficulty difficulty) {
+        Path path = RESOURCE_DIR.resolve(difficulty.getSentenceFile());
+        try {
+            SentenceCorpus corpus = SentenceCorpus.reload(path, CorpusCache.current(difficulty));
+            if (corpus.size() == 0) {
+                throw new IOException("No sentences found in file: " + difficulty.getSentenceFile());
+            }
+            CorpusCache.replace(difficulty, corpus);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Keeping previous sentences for " + difficulty.name().toLowerCase()
+                    + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package main.managers;
+
+// The game clock as the rules see it: TimerManager in the real game, VirtualCountdown
+// when sessions are simulated without a display.
+public interface Countdown {
+    void addTime(int seconds);
+
+    void adjustSpeedForRound(int round);
+
+    int getTimeRemaining();
+}
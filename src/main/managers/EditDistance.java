@@ -0,0 +1,262 @@
+package main.managers;
+
+import java.util.Arrays;
+
+// Bit-parallel Levenshtein distance (Myers 1999, with Hyyro's block formulation for
+// patterns longer than 64 characters). The pattern is the sentence to type; each text
+// character updates one column of the DP matrix in O(m / 64) word operations.
+//
+// All state lives in arrays that are reused between patterns and only grow, so neither
+// the one-shot distance() nor the streaming append() allocates after warm-up.
+// With history enabled, every streamed column is also kept, so truncate() can drop
+// trailing text characters in O(m / 64) instead of replaying the text.
+public class EditDistance {
+    private static final int ALPHABET = 256;
+
+    private CharSequence pattern = "";
+    private int length;
+    private int blocks;
+    private long lastBitMask;
+
+    private long[] peq = new long[ALPHABET * 2]; // Match masks per (char, block) for chars below 256
+    private long[] wideEq = new long[2];         // Match mask of the current char when it is 256 or above
+    private long[] pv = new long[2];
+    private long[] mv = new long[2];
+
+    // Streaming state: distance between the whole pattern and the text appended so far
+    private int score;
+    private int textLength;
+    private int prefixDistance = -1; // getPrefixDistance() of the current column, or -1 until asked
+
+    // Column after the k-th streamed character at slot k - 1: pv then mv of every block
+    private final boolean keepHistory;
+    private long[] history = new long[0];
+    private int[] scoreHistory = new int[0];
+
+    public EditDistance() {
+        this(false);
+    }
+
+    public EditDistance(boolean keepHistory) {
+        this.keepHistory = keepHistory;
+    }
+
+    public void setPattern(CharSequence pattern) {
+        this.pattern = pattern;
+        this.length = pattern.length();
+        this.blocks = Math.max(1, (length + 63) >>> 6);
+        this.lastBitMask = 1L << ((Math.max(length, 1) - 1) & 63);
+
+        if (peq.length < ALPHABET * blocks) {
+            peq = new long[ALPHABET * blocks];
+            wideEq = new long[blocks];
+            pv = new long[blocks];
+            mv = new long[blocks];
+        } else {
+            Arrays.fill(peq, 0, ALPHABET * blocks, 0L);
+        }
+        for (int i = 0; i < length; i++) {
+            char c = pattern.charAt(i);
+            if (c < ALPHABET) {
+                peq[c * blocks + (i >>> 6)] |= 1L << (i & 63);
+            }
+        }
+        reset();
+    }
+
+    public int getPatternLength() {
+        return length;
+    }
+
+    // Forgets the streamed text; the pattern is kept
+    public void reset() {
+        Arrays.fill(pv, 0, blocks, -1L);
+        Arrays.fill(mv, 0, blocks, 0L);
+        score = length;
+        textLength = 0;
+        prefixDistance = -1;
+    }
+
+    // Adds one character to the end of the streamed text, O(m / 64)
+    public void append(char c) {
+        int eqBase = equalityBase(c);
+        long[] eq = c < ALPHABET ? peq : wideEq;
+
+        // Row 0 of the matrix is 0, 1, 2, ... so the first block always receives +1
+        int carry = 1;
+        for (int b = 0; b < blocks; b++) {
+            carry = advanceBlock(b, eq[eqBase + b], carry);
+        }
+        score += carry;
+        textLength++;
+        prefixDistance = -1;
+        if (keepHistory) {
+            saveColumn();
+        }
+    }
+
+    // Drops streamed characters back to the given text length; needs history enabled
+    public void truncate(int newTextLength) {
+        if (!keepHistory || newTextLength < 0 || newTextLength > textLength) {
+            throw new IllegalArgumentException("Cannot truncate " + textLength + " characters to " + newTextLength);
+        }
+        if (newTextLength == 0) {
+            reset();
+            return;
+        }
+        int base = (newTextLength - 1) * 2 * blocks;
+        System.arraycopy(history, base, pv, 0, blocks);
+        System.arraycopy(history, base + blocks, mv, 0, blocks);
+        score = scoreHistory[newTextLength - 1];
+        textLength = newTextLength;
+        prefixDistance = -1;
+    }
+
+    public int getTextLength() {
+        return textLength;
+    }
+
+    private void saveColumn() {
+        int base = (textLength - 1) * 2 * blocks;
+        if (base + 2 * blocks > history.length) {
+            history = Arrays.copyOf(history, Math.max(base + 2 * blocks, history.length * 2));
+        }
+        if (textLength > scoreHistory.length) {
+            scoreHistory = Arrays.copyOf(scoreHistory, Math.max(textLength, scoreHistory.length * 2));
+        }
+        System.arraycopy(pv, 0, history, base, blocks);
+        System.arraycopy(mv, 0, history, base + blocks, blocks);
+        scoreHistory[textLength - 1] = score;
+    }
+
+    // Distance between the whole pattern and the streamed text
+    public int getDistance() {
+        return length == 0 ? textLength : score;
+    }
+
+    // Smallest distance between the streamed text and any prefix of the pattern, i.e. the
+    // number of mistakes made so far regardless of how much of the sentence is left.
+    // Row i of the column is at least |i - n|, so only rows closer than the best value
+    // found so far to the diagonal are walked: O(m / 64 + mistakes), cached per column.
+    public int getPrefixDistance() {
+        if (prefixDistance >= 0) {
+            return prefixDistance;
+        }
+        int best = rowDistance(Math.min(textLength, length));
+        int row = Math.min(length, Math.max(0, textLength - best + 1));
+        int distance = rowDistance(row);
+        best = Math.min(best, distance);
+        while (row < length && row + 1 < textLength + best) {
+            long bit = 1L << (row & 63);
+            int b = row >>> 6;
+            if ((pv[b] & bit) != 0) {
+                distance++;
+            } else if ((mv[b] & bit) != 0) {
+                distance--;
+            }
+            row++;
+            best = Math.min(best, distance);
+        }
+        prefixDistance = best;
+        return best;
+    }
+
+    // Distance between the streamed text and the first row characters of the pattern
+    private int rowDistance(int row) {
+        int distance = textLength; // Row 0: the empty prefix
+        int full = row >>> 6;
+        for (int b = 0; b < full; b++) {
+            distance += Long.bitCount(pv[b]) - Long.bitCount(mv[b]);
+        }
+        int rest = row & 63;
+        if (rest != 0) {
+            long mask = (1L << rest) - 1;
+            distance += Long.bitCount(pv[full] & mask) - Long.bitCount(mv[full] & mask);
+        }
+        return distance;
+    }
+
+    public int distance(CharSequence text) {
+        return distance(text, Integer.MAX_VALUE);
+    }
+
+    // Returns the exact distance if it is at most maxDistance, otherwise maxDistance + 1.
+    // Gives up as soon as the remaining characters can no longer bring it under the bound.
+    public int distance(CharSequence text, int maxDistance) {
+        int n = text.length();
+        if (Math.abs(n - length) > maxDistance) {
+            return maxDistance + 1;
+        }
+        if (length == 0) {
+            return n;
+        }
+
+        reset();
+        for (int j = 0; j < n; j++) {
+            append(text.charAt(j));
+            // D[m][n] >= D[m][j] - (n - j)
+            if (score - (n - j - 1) > maxDistance) {
+                reset();
+                return maxDistance + 1;
+            }
+        }
+        int result = score;
+        reset();
+        return result;
+    }
+
+    private int equalityBase(char c) {
+        if (c < ALPHABET) {
+            return c * blocks;
+        }
+        // Rare: build the mask for this character by scanning the pattern
+        Arrays.fill(wideEq, 0, blocks, 0L);
+        for (int i = 0; i < length; i++) {
+            if (pattern.charAt(i) == c) {
+                wideEq[i >>> 6] |= 1L << (i & 63);
+            }
+        }
+        return 0;
+    }
+
+    // One 64-row block of a column; hin / hout are the horizontal deltas entering at the
+    // top and leaving at the bottom of the block
+    private int advanceBlock(int b, long eq, int hin) {
+        long pvb = pv[b];
+        long mvb = mv[b];
+        long high = b == blocks - 1 ? lastBitMask : 1L << 63;
+
+        long xv = eq | mvb;
+        if (hin < 0) {
+            eq |= 1L;
+        }
+        long xh = (((eq & pvb) + pvb) ^ pvb) | eq;
+        long ph = mvb | ~(xh | pvb);
+        long mh = pvb & xh;
+
+        int hout = 0;
+        if ((ph & high) != 0) {
+            hout = 1;
+        } else if ((mh & high) != 0) {
+            hout = -1;
+        }
+
+        ph <<= 1;
+        mh <<= 1;
+        if (hin < 0) {
+            mh |= 1L;
+        } else if (hin > 0) {
+            ph |= 1L;
+        }
+
+        pv[b] = mh | ~(xv | ph);
+        mv[b] = ph & xv;
+        return hout;
+    }
+
+    // 1.0 for an exact match, falling to 0.0 when every character is wrong
+    public static double accuracy(int distance, int patternLength, int textLength) {
+        int longest = Math.max(patternLength, textLength);
+        return longest == 0 ? 1.0 : Math.max(0.0, 1.0 - (double) distance / longest);
+    }
+}
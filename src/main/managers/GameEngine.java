@@ -0,0 +1,125 @@
+package main.managers;
+
+// The rules of one game, independent of Swing: grading answers, scoring, lives, rounds
+// and the speed-up every 5 rounds. Time is whatever the Countdown and the nowNanos
+// arguments say it is, so the same engine runs behind GamePanel in real time and in
+// GameSimulator on a virtual clock.
+public class GameEngine {
+    // Answers at or above this accuracy pass with scaled points; below the second a life is lost
+    public static final double PASS_ACCURACY = 0.9;
+    public static final double FORGIVE_ACCURACY = 0.75;
+    public static final int TIME_BONUS = 5;
+
+    private final Player player;
+    private final Difficulty difficulty;
+    private final SentenceLoader loader;
+    private final Countdown countdown;
+
+    private final TypingMatcher matcher = new TypingMatcher();
+    private final EditDistance answerDistance = new EditDistance();
+    private String currentSentence = "";
+    private boolean gameOver;
+
+    public GameEngine(Player player, Difficulty difficulty, SentenceLoader loader, Countdown countdown) {
+        this.player = player;
+        this.difficulty = difficulty;
+        this.loader = loader;
+        this.countdown = countdown;
+    }
+
+    // Draws the next sentence and starts matching the input against it from scratch
+    public String nextSentence() {
+        currentSentence = loader.getRandomSentence();
+        matcher.reset(currentSentence);
+        answerDistance.setPattern(currentSentence);
+        return currentSentence;
+    }
+
+    public String peekNextSentence() {
+        return loader.peekNextSentence();
+    }
+
+    public void insert(int offset, CharSequence text, long nowNanos) {
+        matcher.insert(offset, text, nowNanos);
+    }
+
+    public void remove(int offset, int length) {
+        matcher.remove(offset, length);
+    }
+
+    public void clearInput() {
+        matcher.remove(0, matcher.getTypedLength());
+    }
+
+    // Grades an answer. After a pass the caller clears its input and calls nextSentence();
+    // otherwise the same sentence is tried again.
+    public AnswerResult submit(String typed, long nowNanos) {
+        if (gameOver) {
+            throw new IllegalStateException("Game is over");
+        }
+
+        // Grade the answer by edit distance; anything past the forgiving bound costs a life anyway
+        int longest = Math.max(currentSentence.length(), typed.length());
+        int maxErrors = (int) Math.floor((1 - FORGIVE_ACCURACY) * longest);
+        int errors = answerDistance.distance(typed, maxErrors);
+        double accuracy = errors > maxErrors ? 0 : EditDistance.accuracy(errors, currentSentence.length(), typed.length());
+
+        if (accuracy >= PASS_ACCURACY) {
+            // Bonus for speed, with the points scaled by accuracy
+            int points = (int) Math.round(matcher.getSentencePoints(nowNanos) * accuracy);
+            matcher.completeSentence();
+            player.addScore(points);
+            player.nextRound();
+            countdown.addTime(TIME_BONUS);
+
+            // Speed increase every 5 rounds
+            if ((player.getRound() - 1) % 5 == 0 && player.getRound() > 1) {
+                countdown.adjustSpeedForRound(player.getRound());
+            }
+            return new AnswerResult(AnswerResult.Outcome.PASSED, errors, points, false);
+        } else if (accuracy >= FORGIVE_ACCURACY) {
+            return new AnswerResult(AnswerResult.Outcome.ALMOST, errors, 0, false);
+        }
+
+        player.loseLife();
+        gameOver = !player.isAlive();
+        return new AnswerResult(AnswerResult.Outcome.WRONG, errors, 0, gameOver);
+    }
+
+    public void timeUp() {
+        gameOver = true;
+    }
+
+    // Brings a HUD snapshot up to date; returns the same instance if nothing changed
+    public GameState updateState(GameState state, long nowNanos) {
+        return state.withPlayer(player)
+                .withTimeRemaining(countdown.getTimeRemaining())
+                .withTyping((int) Math.round(matcher.getWordsPerMinute(nowNanos)),
+                        (int) Math.round(100 * matcher.getLiveAccuracy()),
+                        matcher.getErrorPosition() >= 0);
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public String getCurrentSentence() {
+        return currentSentence;
+    }
+
+    public TypingMatcher getMatcher() {
+        return matcher;
+    }
+
+    public Countdown getCountdown() {
+        return countdown;
+    }
+}
@@ -0,0 +1,279 @@
+package main.managers;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One-shot tasks for the game loop on a hashed timing wheel (Varghese & Lauck).
+// Scheduling and cancelling are O(1); one daemon thread advances the wheel a slot per
+// tick and runs whatever has come due. A task sits in the slot its deadline falls in,
+// and within that slot the worker waits for each task's exact deadline, so tasks run
+// on time rather than at the next slot boundary. Time is measured on a game clock that
+// stands still while the scheduler is paused, so pausing freezes every pending task at once.
+public class GameScheduler {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int SLOTS = 256; // Power of two; one turn of the wheel is 2.56 s
+
+    private static GameScheduler shared;
+
+    private final Object lock = new Object();
+    private final Task[] wheel = new Task[SLOTS];
+    private final long originNanos = System.nanoTime();
+    private long currentTick; // Every slot up to this tick has been drained
+    private int pending;
+
+    // Game clock: real time minus the time spent paused
+    private long pausedNanos;
+    private long pausedAt = -1;
+    private boolean shutdown;
+
+    public static final class Task {
+        private final Runnable action;
+        private long deadlineTick;
+        private long deadlineNanos; // Since originNanos, on the game clock
+        private Task prev, next;
+        private boolean linked;
+        private boolean cancelled;
+        private GameScheduler owner;
+
+        private Task(Runnable action) {
+            this.action = action;
+        }
+
+        // Returns false if the task has already run or was cancelled
+        public boolean cancel() {
+            return owner.cancel(this);
+        }
+
+        public boolean isCancelled() {
+            synchronized (owner.lock) {
+                return cancelled;
+            }
+        }
+
+        public boolean isDone() {
+            synchronized (owner.lock) {
+                return !linked;
+            }
+        }
+    }
+
+    public GameScheduler() {
+        Thread worker = new Thread(this::run, "game-scheduler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Scheduler for code that isn't tied to one game window
+    public static synchronized GameScheduler shared() {
+        if (shared == null) {
+            shared = new GameScheduler();
+        }
+        return shared;
+    }
+
+    // Runs the action on the scheduler thread; it should be short and hand UI work to Swing
+    public Task schedule(long delay, TimeUnit unit, Runnable action) {
+        Task task = new Task(action);
+        task.owner = this;
+        synchronized (lock) {
+            if (shutdown) {
+                // The game is over; late requests are dropped rather than failing the caller
+                task.cancelled = true;
+                return task;
+            }
+            long now = nanoTime();
+            if (pending == 0) {
+                // The worker skips ticks while idle; catch the wheel up to the tick in progress
+                currentTick = Math.max(currentTick, (now - originNanos) / TICK_NANOS - 1);
+            }
+            long due = now - originNanos + unit.toNanos(Math.max(0, delay));
+            task.deadlineNanos = due;
+            task.deadlineTick = Math.max(currentTick + 1, due / TICK_NANOS);
+            link(task);
+            if (pending == 1) {
+                lock.notifyAll();
+            }
+        }
+        return task;
+    }
+
+    // Runs the action on the Event Dispatch Thread once the delay has passed on the game clock
+    public Task scheduleOnEdt(long delayMillis, Runnable action) {
+        return schedule(delayMillis, TimeUnit.MILLISECONDS, () -> SwingUtilities.invokeLater(action));
+    }
+
+    // Current game time in nanoseconds; only differences between two readings are meaningful
+    public long nanoTime() {
+        synchronized (lock) {
+            long now = pausedAt >= 0 ? pausedAt : System.nanoTime();
+            return now - pausedNanos;
+        }
+    }
+
+    public void pause() {
+        synchronized (lock) {
+            if (pausedAt < 0) {
+                pausedAt = System.nanoTime();
+            }
+        }
+    }
+
+    public void resume() {
+        synchronized (lock) {
+            if (pausedAt >= 0) {
+                pausedNanos += System.nanoTime() - pausedAt;
+                pausedAt = -1;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    public boolean isPaused() {
+        synchronized (lock) {
+            return pausedAt >= 0;
+        }
+    }
+
+    // Number of tasks waiting to run, for diagnostics
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending;
+        }
+    }
+
+    // Drops every pending task and stops the worker thread
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            for (int i = 0; i < SLOTS; i++) {
+                for (Task t = wheel[i]; t != null; t = t.next) {
+                    t.linked = false;
+                    t.cancelled = true;
+                }
+                wheel[i] = null;
+            }
+            pending = 0;
+            lock.notifyAll();
+        }
+    }
+
+    private boolean cancel(Task task) {
+        synchronized (lock) {
+            if (!task.linked) {
+                return false;
+            }
+            unlink(task);
+            task.cancelled = true;
+            return true;
+        }
+    }
+
+    private void link(Task task) {
+        int slot = (int) (task.deadlineTick & (SLOTS - 1));
+        task.next = wheel[slot];
+        if (task.next != null) {
+            task.next.prev = task;
+        }
+        task.prev = null;
+        wheel[slot] = task;
+        task.linked = true;
+        pending++;
+    }
+
+    private void unlink(Task task) {
+        int slot = (int) (task.deadlineTick & (SLOTS - 1));
+        if (task.prev != null) {
+            task.prev.next = task.next;
+        } else {
+            wheel[slot] = task.next;
+        }
+        if (task.next != null) {
+            task.next.prev = task.prev;
+        }
+        task.prev = task.next = null;
+        task.linked = false;
+        pending--;
+    }
+
+    private void run() {
+        List<Task> due = new ArrayList<>();
+        while (true) {
+            synchronized (lock) {
+                try {
+                    if (!awaitNextTick()) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long tick = currentTick + 1;
+                long now = nanoTime() - originNanos;
+                boolean waiting = false;
+                Task t = wheel[(int) (tick & (SLOTS - 1))];
+                while (t != null) {
+                    Task next = t.next;
+                    // Tasks further out than one turn of the wheel share the slot; leave them
+                    if (t.deadlineTick <= tick) {
+                        if (t.deadlineNanos <= now) {
+                            unlink(t);
+                            due.add(t);
+                        } else {
+                            waiting = true;
+                        }
+                    }
+                    t = next;
+                }
+                // The tick is done once nothing in it is still waiting for its deadline
+                if (!waiting) {
+                    currentTick = tick;
+                }
+            }
+
+            for (Task task : due) {
+                try {
+                    task.action.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Scheduled task failed: " + e);
+                }
+            }
+            due.clear();
+        }
+    }
+
+    // Waits (holding the lock) until the next tick starts and then until its earliest task
+    // is due, on the game clock; false on shutdown
+    private boolean awaitNextTick() throws InterruptedException {
+        while (!shutdown) {
+            if (pausedAt >= 0 || pending == 0) {
+                lock.wait();
+                continue;
+            }
+            long tick = currentTick + 1;
+            long now = nanoTime() - originNanos;
+            long target = tick * TICK_NANOS;
+            if (now >= target) {
+                target = earliestDeadline(tick);
+                if (now >= target) {
+                    return true;
+                }
+            }
+            TimeUnit.NANOSECONDS.timedWait(lock, target - now);
+        }
+        return false;
+    }
+
+    // Earliest deadline among the tasks of this tick, or Long.MIN_VALUE if there are none
+    private long earliestDeadline(long tick) {
+        long earliest = Long.MAX_VALUE;
+        boolean any = false;
+        for (Task t = wheel[(int) (tick & (SLOTS - 1))]; t != null; t = t.next) {
+            if (t.deadlineTick <= tick) {
+                earliest = Math.min(earliest, t.deadlineNanos);
+                any = true;
+            }
+        }
+        return any ? earliest : Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,86 @@
+package main.managers;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+// Plays many headless games with simulated typists to check game balance. Each session
+// runs a GameEngine on a VirtualCountdown, so a game takes microseconds; sessions are
+// spread over all cores and summarised per difficulty.
+//
+// Usage: java main.managers.GameSimulator [sessions per difficulty] [seed]
+public final class GameSimulator {
+    // A typist faster than the time bonus would play forever
+    private static final int MAX_ROUNDS = 500;
+    private static final long REACTION_MILLIS = 400;
+
+    private GameSimulator() {
+    }
+
+    public static void main(String[] args) {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+
+        CorpusCache.warmAll();
+        for (Difficulty difficulty : Difficulty.values()) {
+            System.out.println(simulate(difficulty, sessions, seed));
+        }
+    }
+
+    // Runs the sessions in parallel; the same seed always gives the same report
+    public static SimulationReport simulate(Difficulty difficulty, int sessions, long seed) {
+        int[] scores = new int[sessions];
+        int[] rounds = new int[sessions];
+        AtomicInteger capped = new AtomicInteger();
+
+        long start = System.nanoTime();
+        IntStream.range(0, sessions).parallel().forEach(i -> {
+            Player player = play(difficulty, seed + i * 0x9E3779B97F4A7C15L);
+            scores[i] = player.getScore();
+            rounds[i] = player.getRound();
+            if (player.getRound() > MAX_ROUNDS) {
+                capped.incrementAndGet();
+            }
+        });
+        return new SimulationReport(difficulty, scores, rounds, capped.get(), System.nanoTime() - start);
+    }
+
+    // One game by a typist with a random speed and error rate
+    static Player play(Difficulty difficulty, long seed) {
+        Random rand = new Random(seed);
+        double wpm = Math.max(15, Math.min(120, 45 + 15 * rand.nextGaussian()));
+        double errorRate = rand.nextDouble() * 0.08;
+        double millisPerChar = 60_000 / (wpm * 5);
+
+        Player player = new Player("bot");
+        VirtualCountdown countdown = new VirtualCountdown(difficulty.getInitialTime());
+        GameEngine engine = new GameEngine(player, difficulty, new SentenceLoader(difficulty, rand.nextLong()), countdown);
+
+        StringBuilder typed = new StringBuilder();
+        long nowNanos = 0;
+        String sentence = engine.nextSentence();
+        while (!engine.isGameOver() && player.getRound() <= MAX_ROUNDS) {
+            typed.setLength(0);
+            for (int i = 0; i < sentence.length(); i++) {
+                typed.append(rand.nextDouble() < errorRate ? (char) ('a' + rand.nextInt(26)) : sentence.charAt(i));
+            }
+            long typingMillis = (long) (sentence.length() * millisPerChar * (0.8 + 0.4 * rand.nextDouble()));
+
+            if (!countdown.advance(REACTION_MILLIS + typingMillis)) {
+                engine.timeUp();
+                break;
+            }
+            nowNanos += REACTION_MILLIS * 1_000_000L;
+            engine.insert(0, typed.subSequence(0, 1), nowNanos);
+            nowNanos += typingMillis * 1_000_000L;
+            engine.insert(1, typed.subSequence(1, typed.length()), nowNanos);
+
+            if (engine.submit(typed.toString(), nowNanos).isPassed()) {
+                sentence = engine.nextSentence();
+            } else {
+                engine.clearInput();
+            }
+        }
+        return player;
+    }
+}
@@ -0,0 +1,79 @@
+package main.managers;
+
+// Immutable snapshot of everything the game HUD shows. Game logic publishes a new
+// snapshot whenever something changes; the with* methods return the same instance
+// when nothing does, so an unchanged state can be recognised by reference.
+public final class GameState {
+    private final int round;
+    private final int score;
+    private final int lives;
+    private final int timeRemaining;
+    private final int wordsPerMinute;
+    private final int accuracyPercent;
+    private final boolean inputError;
+
+    public GameState(int round, int score, int lives, int timeRemaining,
+                     int wordsPerMinute, int accuracyPercent, boolean inputError) {
+        this.round = round;
+        this.score = score;
+        this.lives = lives;
+        this.timeRemaining = timeRemaining;
+        this.wordsPerMinute = wordsPerMinute;
+        this.accuracyPercent = accuracyPercent;
+        this.inputError = inputError;
+    }
+
+    public static GameState initial(Player player, int timeRemaining) {
+        return new GameState(player.getRound(), player.getScore(), player.getLives(), timeRemaining, 0, 100, false);
+    }
+
+    public GameState withPlayer(Player player) {
+        if (player.getRound() == round && player.getScore() == score && player.getLives() == lives) {
+            return this;
+        }
+        return new GameState(player.getRound(), player.getScore(), player.getLives(), timeRemaining,
+                wordsPerMinute, accuracyPercent, inputError);
+    }
+
+    public GameState withTimeRemaining(int time) {
+        if (time == timeRemaining) {
+            return this;
+        }
+        return new GameState(round, score, lives, time, wordsPerMinute, accuracyPercent, inputError);
+    }
+
+    public GameState withTyping(int wpm, int accuracy, boolean error) {
+        if (wpm == wordsPerMinute && accuracy == accuracyPercent && error == inputError) {
+            return this;
+        }
+        return new GameState(round, score, lives, timeRemaining, wpm, accuracy, error);
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public int getTimeRemaining() {
+        return timeRemaining;
+    }
+
+    public int getWordsPerMinute() {
+        return wordsPerMinute;
+    }
+
+    public int getAccuracyPercent() {
+        return accuracyPercent;
+    }
+
+    public boolean hasInputError() {
+        return inputError;
+    }
+}
@@ -1,94 +1,187 @@
 package main.managers;
 
-import java.io.*;
+import main.jfr.ScoreLoadEvent;
+import main.jfr.ScoreRankEvent;
+import main.jfr.ScoreSaveEvent;
+import main.metrics.Histogram;
+import main.metrics.Metrics;
+
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class HighScoreManager {
-    private String filename = "highscores.txt";
+    private static final Histogram SAVE_TIME = Metrics.histogram("scores.save.nanos");
+    private static final Histogram LOAD_TIME = Metrics.histogram("scores.load.nanos");
+    private static final Histogram RANK_TIME = Metrics.histogram("scores.rank.nanos");
+
+    private final String filename;
+    private final boolean mapped;
+    // Resolved once; after that every read goes straight to the store's volatile table
+    private volatile ScoreStore store;
+
+    // -Dhighscores.mapped=true switches to the binary file shared between game processes;
+    // -Dhighscores.file picks another file in either mode
+    public HighScoreManager() {
+        this(Boolean.getBoolean("highscores.mapped"));
+    }
+
+    private HighScoreManager(boolean mapped) {
+        this(System.getProperty("highscores.file", mapped ? "highscores.bin" : "highscores.txt"), mapped);
+    }
+
+    // Uses the text score log in the given file
+    public HighScoreManager(String filename) {
+        this(filename, false);
+    }
+
+    private HighScoreManager(String filename, boolean mapped) {
+        this.filename = filename;
+        this.mapped = mapped;
+    }
+
+    public HighScoreManager(ScoreStore store) {
+        this.filename = null;
+        this.mapped = false;
+        this.store = store;
+    }
+
+    // The store is opened (and the text log replayed) on first use, then shared by every
+    // manager. Threads racing here all get the same shared store, so the unguarded write is harmless.
+    private ScoreStore log() {
+        ScoreStore resolved = store;
+        if (resolved == null) {
+            resolved = mapped ? MappedScoreStore.open(filename) : ScoreLog.open(filename);
+            store = resolved;
+        }
+        return resolved;
+    }
+
+    private CompletableFuture<ScoreStore> logAsync() {
+        ScoreStore resolved = store;
+        if (resolved != null) {
+            return CompletableFuture.completedFuture(resolved);
+        }
+        CompletableFuture<? extends ScoreStore> opening = mapped
+                ? CompletableFuture.supplyAsync(() -> MappedScoreStore.open(filename))
+                : ScoreLog.openAsync(filename);
+        return opening.thenApply(opened -> {
+            store = opened;
+            return opened;
+        });
+    }
 
     public void saveScore(String name, int score) {
-        Map<String, Integer> scores = loadScores();
-        
         // Update score only if new score is higher, or add new player
-        Integer currentScore = scores.get(name);
-        if (currentScore == null || score > currentScore) {
-            scores.put(name, score);
-        }
+        ScoreSaveEvent event = new ScoreSaveEvent();
+        event.begin();
+        long start = System.nanoTime();
+        log().record(name, score);
+        SAVE_TIME.recordSince(start);
+        commitSave(event, name, score, 0, false);
+    }
+
+    // Saves the score and returns the previous best, new rank and top scores in one step
+    public LeaderboardSnapshot recordResult(String name, int score, int topCount) {
+        ScoreSaveEvent event = new ScoreSaveEvent();
+        event.begin();
+        long start = System.nanoTime();
+        LeaderboardSnapshot snapshot = log().recordResult(name, score, topCount);
+        SAVE_TIME.recordSince(start);
+        commitSave(event, name, score, snapshot.getRank(), false);
+        return snapshot;
+    }
+
+    // Same as recordResult, but the store is opened and written off the calling thread.
+    // The future completes once the new score has been flushed to disk.
+    public CompletableFuture<LeaderboardSnapshot> recordResultAsync(String name, int score, int topCount) {
+        return logAsync().thenComposeAsync(scoreStore -> {
+            // The event also spans the flush, so it lines up with the disk write
+            ScoreSaveEvent event = new ScoreSaveEvent();
+            event.begin();
+            long start = System.nanoTime();
+            LeaderboardSnapshot snapshot = scoreStore.recordResult(name, score, topCount);
+            SAVE_TIME.recordSince(start);
+            return scoreStore.flushAsync().thenApply(done -> {
+                commitSave(event, name, score, snapshot.getRank(), true);
+                return snapshot;
+            });
+        });
+    }
 
-        try (PrintWriter pw = new PrintWriter(new FileWriter(filename))) {
-            for (Map.Entry<String, Integer> entry : scores.entrySet()) {
-                pw.println(entry.getKey() + ":" + entry.getValue());
-            }
-        } catch (IOException e) {
-            System.err.println("Error saving scores: " + e.getMessage());
+    private static void commitSave(ScoreSaveEvent event, String name, int score, int rank, boolean async) {
+        if (event.shouldCommit()) {
+            event.player = name;
+            event.score = score;
+            event.rank = rank;
+            event.async = async;
+            event.commit();
         }
     }
 
+    public CompletableFuture<Void> flushAsync() {
+        return logAsync().thenCompose(ScoreStore::flushAsync);
+    }
+
+    // Immutable view of all best scores, read without locking
+    public ScoreTable snapshot() {
+        return log().snapshot();
+    }
+
+    // Changes whenever a saved score changes the leaderboard
+    public long getVersion() {
+        return log().version();
+    }
+
     public Map<String, Integer> loadScores() {
-        Map<String, Integer> scores = new HashMap<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] parts = line.split(":");
-                if (parts.length == 2) {
-                    try {
-                        scores.put(parts[0], Integer.parseInt(parts[1]));
-                    } catch (NumberFormatException e) {
-                        System.err.println("Invalid score format: " + line);
-                    }
-                }
-            }
-        } catch (IOException e) {
-            // File doesn't exist yet, return empty map
-        }
+        ScoreLoadEvent event = new ScoreLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Map<String, Integer> scores = log().getScores();
+        LOAD_TIME.recordSince(start);
+        commitLoad(event, "all", scores.size());
         return scores;
     }
 
     public List<Map.Entry<String, Integer>> getTopScores(int limit) {
-        Map<String, Integer> scores = loadScores();
-        
-        return scores.entrySet()
-                .stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                .limit(limit)
-                .collect(ArrayList::new, 
-                        (list, entry) -> list.add(entry), 
-                        (list1, list2) -> list1.addAll(list2));
+        ScoreLoadEvent event = new ScoreLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<Map.Entry<String, Integer>> top = log().getTopScores(limit);
+        LOAD_TIME.recordSince(start);
+        commitLoad(event, "top", top.size());
+        return top;
+    }
+
+    private static void commitLoad(ScoreLoadEvent event, String operation, int entries) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.entries = entries;
+            event.commit();
+        }
+    }
+
+    // Players ranked within radius places of the given 1-based rank
+    public List<Map.Entry<String, Integer>> getPlayersAroundRank(int rank, int radius) {
+        return log().getPlayersAroundRank(rank, radius);
     }
 
     public boolean isNewHighScore(String name, int score) {
-        Map<String, Integer> scores = loadScores();
-        Integer currentScore = scores.get(name);
+        Integer currentScore = log().getBestScore(name);
         return currentScore == null || score > currentScore;
     }
 
     public int getPlayerRank(String name, int score) {
-        List<Map.Entry<String, Integer>> topScores = getTopScores(Integer.MAX_VALUE);
-        
-        // Create a temporary entry for the current player
-        boolean found = false;
-        for (int i = 0; i < topScores.size(); i++) {
-            if (topScores.get(i).getKey().equals(name)) {
-                topScores.get(i).setValue(Math.max(score, topScores.get(i).getValue()));
-                found = true;
-                break;
-            }
-        }
-        
-        if (!found) {
-            topScores.add(new AbstractMap.SimpleEntry<>(name, score));
-        }
-        
-        // Re-sort
-        topScores.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
-        
-        // Find rank
-        for (int i = 0; i < topScores.size(); i++) {
-            if (topScores.get(i).getKey().equals(name)) {
-                return i + 1;
-            }
+        ScoreRankEvent event = new ScoreRankEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int rank = log().getPlayerRank(name, score);
+        RANK_TIME.recordSince(start);
+        if (event.shouldCommit()) {
+            event.player = name;
+            event.score = score;
+            event.rank = rank;
+            event.commit();
         }
-        
-        return topScores.size(); // Fallback
+        return rank;
     }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package main.managers;
+
+import java.util.*;
+
+// Fixed-size ring buffer of (time, character, correct) keystroke events. Everything
+// is preallocated, so recording from the key listener never allocates; when the
+// buffer is full the oldest events are overwritten. Analysis runs after the game.
+public class KeystrokeRecorder {
+    private static final int DEFAULT_CAPACITY = 8192;
+    // Gaps longer than this are pauses (reading the next sentence, thinking), not typing
+    private static final long MAX_LATENCY_NANOS = 2_000_000_000L;
+
+    private final long[] times;
+    private final char[] chars;
+    private final boolean[] correct;
+    private final int mask;
+    private long recorded;
+
+    public KeystrokeRecorder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Capacity is rounded up to a power of two
+    public KeystrokeRecorder(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.times = new long[size];
+        this.chars = new char[size];
+        this.correct = new boolean[size];
+        this.mask = size - 1;
+    }
+
+    public void record(long nanoTime, char c, boolean wasCorrect) {
+        int slot = (int) (recorded & mask);
+        times[slot] = nanoTime;
+        chars[slot] = c;
+        correct[slot] = wasCorrect;
+        recorded++;
+    }
+
+    public long getRecordedCount() {
+        return recorded;
+    }
+
+    public KeystrokeStats analyze() {
+        int count = (int) Math.min(recorded, times.length);
+        long first = recorded - count;
+
+        long[] bucketCounts = new long[KeystrokeStats.BUCKET_LIMITS_MS.length + 1];
+        List<Long> latencies = new ArrayList<>();
+        Map<String, long[]> bigrams = new HashMap<>(); // bigram -> {total nanos, count}
+        int correctCount = 0;
+
+        for (long i = first; i < recorded; i++) {
+            int slot = (int) (i & mask);
+            if (correct[slot]) {
+                correctCount++;
+            }
+            if (i == first) {
+                continue;
+            }
+
+            int previous = (int) ((i - 1) & mask);
+            long latency = times[slot] - times[previous];
+            if (latency < 0 || latency > MAX_LATENCY_NANOS) {
+                continue;
+            }
+            latencies.add(latency);
+            bucketCounts[KeystrokeStats.bucketFor(latency / 1_000_000)]++;
+
+            // Only bigrams typed correctly say something about the pair itself
+            if (correct[slot] && correct[previous] && chars[slot] != ' ' && chars[previous] != ' ') {
+                long[] totals = bigrams.computeIfAbsent(
+                        String.valueOf(new char[] {chars[previous], chars[slot]}), k -> new long[2]);
+                totals[0] += latency;
+                totals[1]++;
+            }
+        }
+
+        return new KeystrokeStats(count, count == 0 ? 1.0 : (double) correctCount / count,
+                latencies, bucketCounts, bigrams);
+    }
+}
@@ -0,0 +1,114 @@
+package main.managers;
+
+import java.util.*;
+
+// Post-game summary of a KeystrokeRecorder: inter-key latency histogram and the
+// bigrams the player typed most slowly
+public final class KeystrokeStats {
+    // Upper bounds of the histogram buckets; the last bucket holds everything slower
+    static final long[] BUCKET_LIMITS_MS = {100, 200, 300, 500};
+    private static final int SLOWEST_BIGRAMS = 3;
+
+    private final int keystrokes;
+    private final double accuracy;
+    private final long medianLatencyMs;
+    private final long averageLatencyMs;
+    private final long[] bucketCounts;
+    private final List<Bigram> slowestBigrams;
+
+    public static final class Bigram {
+        private final String chars;
+        private final long averageMs;
+        private final long count;
+
+        Bigram(String chars, long averageMs, long count) {
+            this.chars = chars;
+            this.averageMs = averageMs;
+            this.count = count;
+        }
+
+        public String getChars() {
+            return chars;
+        }
+
+        public long getAverageMs() {
+            return averageMs;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
+    KeystrokeStats(int keystrokes, double accuracy, List<Long> latencies, long[] bucketCounts,
+                   Map<String, long[]> bigrams) {
+        this.keystrokes = keystrokes;
+        this.accuracy = accuracy;
+        this.bucketCounts = bucketCounts.clone();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long total = 0;
+        for (long latency : sorted) {
+            total += latency;
+        }
+        this.medianLatencyMs = sorted.isEmpty() ? 0 : sorted.get(sorted.size() / 2) / 1_000_000;
+        this.averageLatencyMs = sorted.isEmpty() ? 0 : total / sorted.size() / 1_000_000;
+
+        // Prefer bigrams seen more than once so a single hesitation doesn't dominate
+        boolean haveRepeats = bigrams.values().stream().anyMatch(totals -> totals[1] > 1);
+        List<Bigram> candidates = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : bigrams.entrySet()) {
+            long[] totals = entry.getValue();
+            if (!haveRepeats || totals[1] > 1) {
+                candidates.add(new Bigram(entry.getKey(), totals[0] / totals[1] / 1_000_000, totals[1]));
+            }
+        }
+        candidates.sort((a, b) -> Long.compare(b.averageMs, a.averageMs));
+        this.slowestBigrams = Collections.unmodifiableList(
+                new ArrayList<>(candidates.subList(0, Math.min(SLOWEST_BIGRAMS, candidates.size()))));
+    }
+
+    static int bucketFor(long latencyMs) {
+        for (int i = 0; i < BUCKET_LIMITS_MS.length; i++) {
+            if (latencyMs < BUCKET_LIMITS_MS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_LIMITS_MS.length;
+    }
+
+    public int getKeystrokes() {
+        return keystrokes;
+    }
+
+    public double getAccuracy() {
+        return accuracy;
+    }
+
+    public long getMedianLatencyMs() {
+        return medianLatencyMs;
+    }
+
+    public long getAverageLatencyMs() {
+        return averageLatencyMs;
+    }
+
+    public int getBucketCount() {
+        return bucketCounts.length;
+    }
+
+    public long getBucketSamples(int bucket) {
+        return bucketCounts[bucket];
+    }
+
+    // Label such as "100-200" or "500+" for the histogram bucket
+    public String getBucketLabel(int bucket) {
+        long low = bucket == 0 ? 0 : BUCKET_LIMITS_MS[bucket - 1];
+        return bucket < BUCKET_LIMITS_MS.length ? low + "-" + BUCKET_LIMITS_MS[bucket] : low + "+";
+    }
+
+    public List<Bigram> getSlowestBigrams() {
+        return slowestBigrams;
+    }
+}
@@ -0,0 +1,180 @@
+package main.managers;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Order-statistic treap over (score descending, name ascending). Every node knows
+// the size of its subtree, so rank and k-th entry lookups are O(log n).
+// The index is immutable: update() copies only the path it touches and returns a new index.
+public final class LeaderboardIndex {
+    public static final LeaderboardIndex EMPTY = new LeaderboardIndex(null);
+
+    private final Node root;
+
+    private static final class Node {
+        final String name;
+        final int score;
+        final int priority;
+        final Node left;
+        final Node right;
+        final int size;
+
+        Node(String name, int score, int priority, Node left, Node right) {
+            this.name = name;
+            this.score = score;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + size(left) + size(right);
+        }
+
+        Node withChildren(Node left, Node right) {
+            return new Node(name, score, priority, left, right);
+        }
+    }
+
+    private LeaderboardIndex(Node root) {
+        this.root = root;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    // Replaces the player's previous entry (if any) with the new score
+    public LeaderboardIndex update(String name, Integer oldScore, int newScore) {
+        Node updated = root;
+        if (oldScore != null) {
+            updated = remove(updated, name, oldScore);
+        }
+        updated = insert(updated, name, newScore, ThreadLocalRandom.current().nextInt());
+        return new LeaderboardIndex(updated);
+    }
+
+    // 1-based rank an entry with this name and score has (or would have) in the index
+    public int rankOf(String name, int score) {
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            if (compare(node.score, node.name, score, name) < 0) {
+                before += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return before + 1;
+    }
+
+    // Entry at the given 1-based rank, or null if out of range
+    public Map.Entry<String, Integer> entryAt(int rank) {
+        int index = rank - 1;
+        if (index < 0 || index >= size()) {
+            return null;
+        }
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                break;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(node.name, node.score);
+    }
+
+    public List<Map.Entry<String, Integer>> topScores(int limit) {
+        return range(1, limit);
+    }
+
+    // Entries ranked from (rank - radius) to (rank + radius), clipped to the board
+    public List<Map.Entry<String, Integer>> around(int rank, int radius) {
+        int from = Math.max(1, rank - radius);
+        int to = Math.min(size(), rank + radius);
+        return range(from, to - from + 1);
+    }
+
+    private List<Map.Entry<String, Integer>> range(int fromRank, int count) {
+        List<Map.Entry<String, Integer>> result = new ArrayList<>(Math.max(0, Math.min(count, size())));
+        if (count > 0) {
+            collect(root, fromRank - 1, count, result);
+        }
+        return result;
+    }
+
+    // In-order walk that skips whole subtrees before the start index, O(log n + count)
+    private static void collect(Node node, int skip, int count, List<Map.Entry<String, Integer>> out) {
+        if (node == null || out.size() >= count) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (skip < leftSize) {
+            collect(node.left, skip, count, out);
+        }
+        if (out.size() < count && skip <= leftSize) {
+            out.add(new AbstractMap.SimpleImmutableEntry<>(node.name, node.score));
+        }
+        if (out.size() < count) {
+            collect(node.right, Math.max(0, skip - leftSize - 1), count, out);
+        }
+    }
+
+    private static Node insert(Node node, String name, int score, int priority) {
+        if (node == null) {
+            return new Node(name, score, priority, null, null);
+        }
+        if (compare(score, name, node.score, node.name) < 0) {
+            Node left = insert(node.left, name, score, priority);
+            if (left.priority > node.priority) {
+                // Rotate right
+                return left.withChildren(left.left, node.withChildren(left.right, node.right));
+            }
+            return node.withChildren(left, node.right);
+        } else {
+            Node right = insert(node.right, name, score, priority);
+            if (right.priority > node.priority) {
+                // Rotate left
+                return right.withChildren(node.withChildren(node.left, right.left), right.right);
+            }
+            return node.withChildren(node.left, right);
+        }
+    }
+
+    private static Node remove(Node node, String name, int score) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(score, name, node.score, node.name);
+        if (cmp < 0) {
+            return node.withChildren(remove(node.left, name, score), node.right);
+        } else if (cmp > 0) {
+            return node.withChildren(node.left, remove(node.right, name, score));
+        }
+        return merge(node.left, node.right);
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            return left.withChildren(left.left, merge(left.right, right));
+        }
+        return right.withChildren(merge(left, right.left), right.right);
+    }
+
+    // Higher scores come first; equal scores are ordered by name
+    private static int compare(int scoreA, String nameA, int scoreB, String nameB) {
+        if (scoreA != scoreB) {
+            return Integer.compare(scoreB, scoreA);
+        }
+        return nameA.compareTo(nameB);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
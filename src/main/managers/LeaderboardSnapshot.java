@@ -0,0 +1,46 @@
+package main.managers;
+
+import java.util.*;
+
+// Immutable view of the leaderboard taken right after a result was recorded
+public final class LeaderboardSnapshot {
+    private final String playerName;
+    private final int score;
+    private final Integer previousBest;
+    private final int rank;
+    private final List<Map.Entry<String, Integer>> topScores;
+
+    public LeaderboardSnapshot(String playerName, int score, Integer previousBest, int rank,
+                               List<Map.Entry<String, Integer>> topScores) {
+        this.playerName = playerName;
+        this.score = score;
+        this.previousBest = previousBest;
+        this.rank = rank;
+        this.topScores = Collections.unmodifiableList(new ArrayList<>(topScores));
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    // Best score stored before this result, or null for a first-time player
+    public Integer getPreviousBest() {
+        return previousBest;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public boolean isNewHighScore() {
+        return previousBest == null || score > previousBest;
+    }
+
+    public List<Map.Entry<String, Integer>> getTopScores() {
+        return topScores;
+    }
+}
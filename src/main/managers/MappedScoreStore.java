@@ -0,0 +1,323 @@
+package main.managers;
+
+import java.io.*;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+// Binary leaderboard in a memory-mapped file that several game processes can share.
+//
+// Layout: a 64-byte header (magic, version, record count, change count) followed by fixed-width
+// 64-byte records (score, name length, UTF-8 name). Scores are updated in place with
+// a compare-and-set on the mapped slot, so improving a score touches only that record.
+// Adding a player appends a record under a FileChannel lock on the header and then
+// publishes the new count. Reads work directly on the mapping without parsing text.
+// Ranks and top lists come from a ScoreTable built from the mapping and kept until the
+// change count moves; this process's own changes update it in O(log n) instead.
+public class MappedScoreStore implements ScoreStore {
+    private static final int MAGIC = 0x48534352; // "HSCR"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 64;
+    private static final int COUNT_OFFSET = 8;
+    private static final int CHANGES_OFFSET = 12;
+    private static final int NAME_LENGTH_OFFSET = 4;
+    private static final int NAME_OFFSET = 6;
+    private static final int MAX_NAME_BYTES = RECORD_SIZE - NAME_OFFSET;
+    private static final int GROWTH_RECORDS = 4096;
+
+    private static final VarHandle INT_HANDLE =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final Map<Path, MappedScoreStore> openStores = new HashMap<>();
+
+    private final FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+
+    // Slot of every record seen so far; records appended by other processes are picked up lazily
+    private final Map<String, Integer> slots = new HashMap<>();
+    private int indexedCount;
+
+    // Holds every change counted up to its version, and possibly later ones not yet counted
+    private static final class CachedTable {
+        final long version;
+        final ScoreTable table;
+
+        CachedTable(long version, ScoreTable table) {
+            this.version = version;
+            this.table = table;
+        }
+    }
+
+    private volatile CachedTable cached;
+
+    public static synchronized MappedScoreStore open(String filename) {
+        Path path = Paths.get(filename).toAbsolutePath().normalize();
+        MappedScoreStore store = openStores.get(path);
+        if (store == null) {
+            try {
+                store = new MappedScoreStore(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error opening score file " + filename, e);
+            }
+            openStores.put(path, store);
+        }
+        return store;
+    }
+
+    private MappedScoreStore(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileLock lock = channel.lock(0, HEADER_SIZE, false);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                map(HEADER_SIZE + (long) GROWTH_RECORDS * RECORD_SIZE);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                INT_HANDLE.setVolatile(buffer, COUNT_OFFSET, 0);
+            } else {
+                map(channel.size());
+                if (buffer.getInt(0) != MAGIC) {
+                    throw new IOException("Not a binary score file: " + path);
+                }
+            }
+        } finally {
+            lock.release();
+        }
+    }
+
+    private void map(long size) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        mapped.order(ByteOrder.nativeOrder());
+        buffer = mapped;
+    }
+
+    private int count() {
+        return (int) INT_HANDLE.getVolatile(buffer, COUNT_OFFSET);
+    }
+
+    // Records visible in this mapping; a newer count from another process is picked up by refresh()
+    private int visibleCount(MappedByteBuffer buf) {
+        return Math.min(count(), (buf.capacity() - HEADER_SIZE) / RECORD_SIZE);
+    }
+
+    private static int recordOffset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    private int scoreAt(MappedByteBuffer buf, int slot) {
+        return (int) INT_HANDLE.getVolatile(buf, recordOffset(slot));
+    }
+
+    private String nameAt(MappedByteBuffer buf, int slot) {
+        int offset = recordOffset(slot);
+        int length = buf.getShort(offset + NAME_LENGTH_OFFSET);
+        byte[] bytes = new byte[length];
+        buf.get(offset + NAME_OFFSET, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Maps records appended by any process since the last call and returns a buffer covering them
+    private synchronized MappedByteBuffer refresh() {
+        int count = count();
+        if ((long) recordOffset(count) > buffer.capacity()) {
+            try {
+                map(channel.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error remapping score file", e);
+            }
+        }
+        MappedByteBuffer buf = buffer;
+        for (; indexedCount < count; indexedCount++) {
+            slots.put(nameAt(buf, indexedCount), indexedCount);
+        }
+        return buf;
+    }
+
+    @Override
+    public boolean record(String name, int score) {
+        try {
+            Integer previous = save(fitName(name), score);
+            return previous == null || score > previous;
+        } catch (IOException e) {
+            System.err.println("Error saving scores: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Returns the best score the player had right before this save, or null for a new player
+    private Integer save(String key, int score) throws IOException {
+        Integer slot;
+        // New players are appended under the lock; existing ones only need the CAS below
+        synchronized (this) {
+            refresh();
+            slot = slots.get(key);
+            if (slot == null) {
+                return append(key, score);
+            }
+        }
+        return raiseScore(buffer, slot, key, score);
+    }
+
+    // Bumped by every process after it changes a score, so readers anywhere notice. If nothing
+    // else was counted since the cached table was built, the change is applied to it directly.
+    private void changed(MappedByteBuffer buf, String name, int score) {
+        long before = Integer.toUnsignedLong((int) INT_HANDLE.getAndAdd(buf, CHANGES_OFFSET, 1));
+        CachedTable current = cached;
+        if (current != null && current.version == before) {
+            cached = new CachedTable((before + 1) & 0xFFFFFFFFL, current.table.withScore(name, score));
+        }
+    }
+
+    // Raises the score in place, racing other threads and processes with CAS on the mapped slot.
+    // Returns the score the CAS saw, i.e. the best score right before this save.
+    private int raiseScore(MappedByteBuffer buf, int slot, String name, int score) {
+        int offset = recordOffset(slot);
+        while (true) {
+            int current = (int) INT_HANDLE.getVolatile(buf, offset);
+            if (score <= current) {
+                return current;
+            }
+            if (INT_HANDLE.compareAndSet(buf, offset, current, score)) {
+                changed(buf, name, score);
+                return current;
+            }
+        }
+    }
+
+    // Called with the store lock held; the header file lock keeps other processes out.
+    // Returns null once the player is added, or their best if another process added them first.
+    private Integer append(String name, int score) throws IOException {
+        FileLock lock = channel.lock(0, HEADER_SIZE, false);
+        try {
+            // Another process may have added the same player while we waited
+            refresh();
+            Integer slot = slots.get(name);
+            if (slot != null) {
+                return raiseScore(buffer, slot, name, score);
+            }
+
+            int count = count();
+            long needed = recordOffset(count + 1);
+            if (needed > channel.size()) {
+                map(needed + (long) GROWTH_RECORDS * RECORD_SIZE);
+            } else if (needed > buffer.capacity()) {
+                map(channel.size());
+            }
+
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            int offset = recordOffset(count);
+            buffer.putShort(offset + NAME_LENGTH_OFFSET, (short) bytes.length);
+            buffer.put(offset + NAME_OFFSET, bytes);
+            INT_HANDLE.setVolatile(buffer, offset, score);
+
+            // Publishing the count makes the record visible to readers in every process
+            INT_HANDLE.setVolatile(buffer, COUNT_OFFSET, count + 1);
+            changed(buffer, name, score);
+            slots.put(name, count);
+            indexedCount = count + 1;
+            return null;
+        } finally {
+            lock.release();
+        }
+    }
+
+    // Names longer than a record holds are cut at a character boundary
+    private static String fitName(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_NAME_BYTES) {
+            return name;
+        }
+        int end = name.length();
+        while (name.substring(0, end).getBytes(StandardCharsets.UTF_8).length > MAX_NAME_BYTES) {
+            end = name.offsetByCodePoints(end, -1);
+        }
+        return name.substring(0, end);
+    }
+
+    // The previous best comes from the save itself, and rank and top list from one table
+    @Override
+    public LeaderboardSnapshot recordResult(String name, int score, int topCount) {
+        String key = fitName(name);
+        Integer previousBest;
+        try {
+            previousBest = save(key, score);
+        } catch (IOException e) {
+            System.err.println("Error saving scores: " + e.getMessage());
+            previousBest = getBestScore(key);
+        }
+        ScoreTable table = snapshot();
+        return new LeaderboardSnapshot(name, score, previousBest, table.getPlayerRank(key, score),
+                table.getIndex().topScores(topCount));
+    }
+
+    @Override
+    public CompletableFuture<Void> flushAsync() {
+        return CompletableFuture.runAsync(() -> buffer.force());
+    }
+
+    // Rebuilt from the mapping only when some process changed a score since the last build
+    @Override
+    public ScoreTable snapshot() {
+        CachedTable current = cached;
+        long version = version(); // Read before the scan, so a change during it forces another build
+        if (current != null && current.version == version) {
+            return current.table;
+        }
+        MappedByteBuffer buf = refresh();
+        ScoreTable table = ScoreTable.EMPTY;
+        for (int slot = 0, count = visibleCount(buf); slot < count; slot++) {
+            table = table.withScore(nameAt(buf, slot), scoreAt(buf, slot));
+        }
+        cached = new CachedTable(version, table);
+        return table;
+    }
+
+    @Override
+    public long version() {
+        return Integer.toUnsignedLong((int) INT_HANDLE.getVolatile(buffer, CHANGES_OFFSET));
+    }
+
+    @Override
+    public Integer getBestScore(String name) {
+        MappedByteBuffer buf = refresh();
+        Integer slot;
+        synchronized (this) {
+            slot = slots.get(fitName(name));
+        }
+        return slot == null ? null : scoreAt(buf, slot);
+    }
+
+    // O(log n) while the cached table is current; a change by another process costs one
+    // O(n log n) rebuild on the next read
+    @Override
+    public int getPlayerRank(String name, int score) {
+        return snapshot().getPlayerRank(fitName(name), score);
+    }
+
+    @Override
+    public List<Map.Entry<String, Integer>> getTopScores(int limit) {
+        return snapshot().getIndex().topScores(limit);
+    }
+
+    @Override
+    public List<Map.Entry<String, Integer>> getPlayersAroundRank(int rank, int radius) {
+        return snapshot().getIndex().around(rank, radius);
+    }
+
+    @Override
+    public Map<String, Integer> getScores() {
+        MappedByteBuffer buf = refresh();
+        Map<String, Integer> scores = new HashMap<>();
+        for (int slot = 0, count = visibleCount(buf); slot < count; slot++) {
+            scores.put(nameAt(buf, slot), scoreAt(buf, slot));
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,307 @@
+package main.managers;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Append-only score file: every new or improved score is one "name:score" line
+// added at the end, and the best score per player is kept in memory. The file
+// is replayed once when the log is opened and rewritten in the background when
+// most of its lines have been superseded.
+//
+// Disk writes are write-behind: recording only updates memory and queues the line,
+// and a single persistence thread appends everything queued since its last flush
+// in one batch. Queued lines are flushed on JVM shutdown. A batch that fails to write
+// goes back to the front of the queue and its futures fail, so callers see the error
+// and the lines are retried with the next flush.
+//
+// Writers are serialized on the log and publish a new immutable ScoreTable;
+// readers only read the volatile table and never take a lock.
+public class ScoreLog implements ScoreStore {
+    private static final int MIN_COMPACT_RECORDS = 1000;
+    private static final Map<Path, ScoreLog> openLogs = new HashMap<>();
+    private static final ExecutorService persistence = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "score-log-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ScoreLog::flushAll, "score-log-shutdown"));
+    }
+
+    private final Path path;
+    private final Path compactPath;
+    private volatile ScoreTable table = ScoreTable.EMPTY;
+    private volatile long version;
+    private int recordCount;
+    private boolean compactionScheduled;
+
+    // Lines recorded but not yet written, and the future completed once they are
+    private List<String> pendingWrites = new ArrayList<>();
+    private CompletableFuture<Void> pendingFlush;
+    private CompletableFuture<Void> writingFlush; // Batch taken off the queue and being written
+
+    // Guards the file itself; taken before the log lock, never while holding it
+    private final Object fileLock = new Object();
+    private Writer writer;
+    private boolean lineBroken; // A failed write may have left half a line at the end of the file
+
+    public static synchronized ScoreLog open(String filename) {
+        Path path = Paths.get(filename).toAbsolutePath().normalize();
+        return openLogs.computeIfAbsent(path, ScoreLog::new);
+    }
+
+    // Opens (and on first use replays) the log on the persistence thread
+    public static CompletableFuture<ScoreLog> openAsync(String filename) {
+        return CompletableFuture.supplyAsync(() -> open(filename), persistence);
+    }
+
+    private static void flushAll() {
+        List<ScoreLog> logs;
+        synchronized (ScoreLog.class) {
+            logs = new ArrayList<>(openLogs.values());
+        }
+        for (ScoreLog log : logs) {
+            log.flush();
+        }
+    }
+
+    private ScoreLog(Path path) {
+        this.path = path;
+        this.compactPath = path.resolveSibling(path.getFileName() + ".compact");
+        replay();
+    }
+
+    private void replay() {
+        // A leftover compaction file means we crashed before the swap; the original log is still complete
+        try {
+            Files.deleteIfExists(compactPath);
+        } catch (IOException e) {
+            System.err.println("Error removing stale compaction file: " + e.getMessage());
+        }
+
+        try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                recordCount++;
+                int sep = line.lastIndexOf(':');
+                if (sep <= 0) {
+                    continue;
+                }
+                try {
+                    int score = Integer.parseInt(line.substring(sep + 1).trim());
+                    table = table.withScore(line.substring(0, sep), score);
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid score format: " + line);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // File doesn't exist yet, start with an empty log
+        } catch (IOException e) {
+            System.err.println("Error loading scores: " + e.getMessage());
+        }
+    }
+
+    // Returns true if the score was new or better than the stored one and was queued for writing
+    @Override
+    public synchronized boolean record(String name, int score) {
+        ScoreTable updated = table.withScore(name, score);
+        if (updated == table) {
+            return false;
+        }
+        table = updated;
+        version++;
+
+        pendingWrites.add(name + ":" + score);
+        scheduleFlush();
+        maybeCompact();
+        return true;
+    }
+
+    // Records the score and reads the resulting leaderboard from the table it produced
+    @Override
+    public synchronized LeaderboardSnapshot recordResult(String name, int score, int topCount) {
+        Integer previousBest = table.getBestScore(name);
+        record(name, score);
+        ScoreTable current = table;
+        return new LeaderboardSnapshot(name, score, previousBest, current.getPlayerRank(name, score),
+                current.getIndex().topScores(topCount));
+    }
+
+    // Completes once everything recorded so far is on disk
+    @Override
+    public synchronized CompletableFuture<Void> flushAsync() {
+        if (pendingWrites.isEmpty() && pendingFlush == null) {
+            return writingFlush != null ? writingFlush : CompletableFuture.completedFuture(null);
+        }
+        return scheduleFlush();
+    }
+
+    // Consistent view of every best score; never changes after it is returned
+    @Override
+    public ScoreTable snapshot() {
+        return table;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public Integer getBestScore(String name) {
+        return table.getBestScore(name);
+    }
+
+    @Override
+    public int getPlayerRank(String name, int score) {
+        return table.getPlayerRank(name, score);
+    }
+
+    @Override
+    public List<Map.Entry<String, Integer>> getTopScores(int limit) {
+        return table.getIndex().topScores(limit);
+    }
+
+    @Override
+    public List<Map.Entry<String, Integer>> getPlayersAroundRank(int rank, int radius) {
+        return table.getIndex().around(rank, radius);
+    }
+
+    @Override
+    public Map<String, Integer> getScores() {
+        return table.toMap();
+    }
+
+    private CompletableFuture<Void> scheduleFlush() {
+        // Records made before the queued flush runs are written in the same batch
+        if (pendingFlush == null) {
+            pendingFlush = new CompletableFuture<>();
+            persistence.execute(this::flush);
+        }
+        return pendingFlush;
+    }
+
+    private void flush() {
+        synchronized (fileLock) {
+            List<String> batch;
+            CompletableFuture<Void> done;
+            synchronized (this) {
+                batch = pendingWrites;
+                done = pendingFlush != null ? pendingFlush : new CompletableFuture<>();
+                pendingWrites = new ArrayList<>();
+                pendingFlush = null;
+                writingFlush = done;
+            }
+
+            IOException failure = null;
+            try {
+                if (!batch.isEmpty()) {
+                    if (writer == null) {
+                        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    }
+                    if (lineBroken) {
+                        // Replay skips the empty or partial line this leaves
+                        writer.write(System.lineSeparator());
+                        lineBroken = false;
+                    }
+                    for (String line : batch) {
+                        writer.write(line);
+                        writer.write(System.lineSeparator());
+                    }
+                    writer.flush();
+                    synchronized (this) {
+                        recordCount += batch.size();
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Error saving scores: " + e.getMessage());
+                failure = e;
+                // Nothing reached the file if it could not even be opened
+                lineBroken = writer != null;
+                discardWriter();
+                // Keep the batch ahead of anything recorded since, for the next flush to retry
+                synchronized (this) {
+                    batch.addAll(pendingWrites);
+                    pendingWrites = batch;
+                }
+            }
+
+            synchronized (this) {
+                writingFlush = null;
+            }
+            if (failure == null) {
+                done.complete(null);
+            } else {
+                done.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private void maybeCompact() {
+        // Compact once at least half of the records are dead
+        if (compactionScheduled || recordCount < MIN_COMPACT_RECORDS || recordCount <= 2 * table.size()) {
+            return;
+        }
+        compactionScheduled = true;
+        persistence.execute(this::compact);
+    }
+
+    private void compact() {
+        synchronized (fileLock) {
+            // Lines recorded after this snapshot are still queued and get appended to the new file
+            ScoreTable snapshot = table;
+
+            try {
+                try (BufferedWriter w = Files.newBufferedWriter(compactPath, StandardCharsets.UTF_8)) {
+                    for (Map.Entry<String, Integer> entry : snapshot.getIndex().topScores(snapshot.size())) {
+                        w.write(entry.getKey() + ":" + entry.getValue());
+                        w.newLine();
+                    }
+                }
+                try (FileChannel channel = FileChannel.open(compactPath, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+
+                closeWriter();
+                Files.move(compactPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                synchronized (this) {
+                    recordCount = snapshot.size();
+                }
+            } catch (IOException e) {
+                System.err.println("Error compacting scores: " + e.getMessage());
+                try {
+                    Files.deleteIfExists(compactPath);
+                } catch (IOException ignored) {
+                    // The next startup removes it
+                }
+            }
+
+            synchronized (this) {
+                compactionScheduled = false;
+            }
+        }
+    }
+
+    private void discardWriter() {
+        try {
+            closeWriter();
+        } catch (IOException e) {
+            writer = null;
+        }
+    }
+
+    private void closeWriter() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package main.managers;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+// Storage backend behind HighScoreManager
+public interface ScoreStore {
+    // Returns true if the score was new or better than the stored one
+    boolean record(String name, int score);
+
+    LeaderboardSnapshot recordResult(String name, int score, int topCount);
+
+    // Completes once everything recorded so far is durable
+    CompletableFuture<Void> flushAsync();
+
+    ScoreTable snapshot();
+
+    // Changes whenever a recorded score changes the leaderboard; cheap enough to check on every read
+    long version();
+
+    Integer getBestScore(String name);
+
+    int getPlayerRank(String name, int score);
+
+    List<Map.Entry<String, Integer>> getTopScores(int limit);
+
+    List<Map.Entry<String, Integer>> getPlayersAroundRank(int rank, int radius);
+
+    Map<String, Integer> getScores();
+}
@@ -0,0 +1,107 @@
+package main.managers;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Immutable best-score table: a persistent name -> score treap plus the leaderboard
+// index over the same entries. withScore() shares every untouched node with the
+// previous table, so a writer can publish a new version in O(log n) and readers
+// can keep using whichever version they picked up without any locking.
+public final class ScoreTable {
+    public static final ScoreTable EMPTY = new ScoreTable(null, LeaderboardIndex.EMPTY);
+
+    private final NameNode names;
+    private final LeaderboardIndex index;
+
+    private static final class NameNode {
+        final String name;
+        final int score;
+        final int priority;
+        final NameNode left;
+        final NameNode right;
+
+        NameNode(String name, int score, int priority, NameNode left, NameNode right) {
+            this.name = name;
+            this.score = score;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private ScoreTable(NameNode names, LeaderboardIndex index) {
+        this.names = names;
+        this.index = index;
+    }
+
+    // Returns this table if the score does not beat the player's stored best
+    public ScoreTable withScore(String name, int score) {
+        Integer currentScore = getBestScore(name);
+        if (currentScore != null && score <= currentScore) {
+            return this;
+        }
+        return new ScoreTable(put(names, name, score), index.update(name, currentScore, score));
+    }
+
+    public Integer getBestScore(String name) {
+        NameNode node = names;
+        while (node != null) {
+            int cmp = name.compareTo(node.name);
+            if (cmp == 0) {
+                return node.score;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    // Rank the player would have with this score, counting their stored best if it is higher
+    public int getPlayerRank(String name, int score) {
+        Integer currentScore = getBestScore(name);
+        int effectiveScore = currentScore == null ? score : Math.max(score, currentScore);
+        return index.rankOf(name, effectiveScore);
+    }
+
+    public LeaderboardIndex getIndex() {
+        return index;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : index.topScores(index.size())) {
+            scores.put(entry.getKey(), entry.getValue());
+        }
+        return scores;
+    }
+
+    private static NameNode put(NameNode node, String name, int score) {
+        if (node == null) {
+            return new NameNode(name, score, ThreadLocalRandom.current().nextInt(), null, null);
+        }
+        int cmp = name.compareTo(node.name);
+        if (cmp == 0) {
+            return new NameNode(name, score, node.priority, node.left, node.right);
+        }
+        if (cmp < 0) {
+            NameNode left = put(node.left, name, score);
+            if (left.priority > node.priority) {
+                // Rotate right
+                return new NameNode(left.name, left.score, left.priority, left.left,
+                        new NameNode(node.name, node.score, node.priority, left.right, node.right));
+            }
+            return new NameNode(node.name, node.score, node.priority, left, node.right);
+        } else {
+            NameNode right = put(node.right, name, score);
+            if (right.priority > node.priority) {
+                // Rotate left
+                return new NameNode(right.name, right.score, right.priority,
+                        new NameNode(node.name, node.score, node.priority, node.left, right.left), right.right);
+            }
+            return new NameNode(node.name, node.score, node.priority, node.left, right);
+        }
+    }
+}
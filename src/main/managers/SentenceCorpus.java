@@ -0,0 +1,171 @@
+package main.managers;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Arrays;
+
+// Immutable sentence list packed into one UTF-8 buffer plus an int[] table holding
+// the start and end offset of every trimmed, non-empty line. Sentences are only
+// decoded to a String when served. Big files are memory-mapped instead of read
+// onto the heap, so a corpus can be larger than the heap (up to 2 GB per file).
+// A mapping sees later writes to the file, and truncating a mapped file crashes readers,
+// so while the files are watched for edits a private copy is mapped instead.
+public final class SentenceCorpus {
+    private static final long MAP_THRESHOLD = 8L * 1024 * 1024;
+
+    private static volatile boolean mapCopies;
+
+    private final ByteBuffer text;
+    private final int[] offsets; // start, end pairs
+    private final int count;
+
+    private SentenceCorpus(ByteBuffer text, int[] offsets, int count) {
+        this.text = text;
+        this.offsets = offsets;
+        this.count = count;
+    }
+
+    public static SentenceCorpus load(String filename) throws IOException {
+        // Try 1: Direct file path (can be mapped)
+        File file = new File("src/main/resources/" + filename);
+        if (file.exists()) {
+            return fromFile(file.toPath());
+        }
+
+        // Try 2: Class loader
+        InputStream input = SentenceCorpus.class.getClassLoader().getResourceAsStream(filename);
+
+        // Try 3: Absolute class path
+        if (input == null) {
+            input = SentenceCorpus.class.getResourceAsStream("/" + filename);
+        }
+        if (input == null) {
+            throw new FileNotFoundException("Could not find resource: " + filename);
+        }
+        try (InputStream in = input) {
+            return fromBytes(in.readAllBytes());
+        }
+    }
+
+    public static SentenceCorpus fromFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Sentence file larger than 2 GB: " + path);
+            }
+            if (size >= MAP_THRESHOLD) {
+                return mapCopies ? fromCopy(path) : parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            }
+        }
+        return fromBytes(Files.readAllBytes(path));
+    }
+
+    // Called by CorpusWatcher before it starts watching, so files that may be rewritten in place are never mapped
+    static void mapCopies() {
+        mapCopies = true;
+    }
+
+    // Maps a snapshot of the file; the mapping outlives the deleted copy except on Windows
+    private static SentenceCorpus fromCopy(Path path) throws IOException {
+        Path copy = Files.createTempFile("sentences", ".txt");
+        try {
+            Files.copy(path, copy, StandardCopyOption.REPLACE_EXISTING);
+            try (FileChannel channel = FileChannel.open(copy, StandardOpenOption.READ)) {
+                return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        } finally {
+            try {
+                Files.delete(copy);
+            } catch (IOException e) {
+                copy.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    public static SentenceCorpus fromBytes(byte[] bytes) {
+        return parse(ByteBuffer.wrap(bytes));
+    }
+
+    // Re-reads a changed file, reusing the previous offsets for every line that lies in the
+    // unchanged prefix of the file and only scanning from the first changed byte onwards
+    public static SentenceCorpus reload(Path path, SentenceCorpus previous) throws IOException {
+        if (previous == null || Files.size(path) >= MAP_THRESHOLD) {
+            return fromFile(path);
+        }
+        byte[] bytes = Files.readAllBytes(path);
+
+        int prefix = 0;
+        int common = Math.min(bytes.length, previous.text.limit());
+        while (prefix < common && bytes[prefix] == previous.text.get(prefix)) {
+            prefix++;
+        }
+
+        // A sentence is reusable once the next one starts inside the prefix, so its whole line is unchanged
+        int keep = 0;
+        while (keep + 1 < previous.count && previous.offsets[2 * (keep + 1)] <= prefix) {
+            keep++;
+        }
+        int[] offsets = Arrays.copyOf(previous.offsets, Math.max(64, 2 * keep + 64));
+        int resumeAt = keep == 0 ? 0 : previous.offsets[2 * keep - 1];
+        return parse(ByteBuffer.wrap(bytes), offsets, keep, resumeAt);
+    }
+
+    private static SentenceCorpus parse(ByteBuffer text) {
+        return parse(text, new int[64], 0, 0);
+    }
+
+    // Appends the sentences found from lineStart onwards to the first count entries of offsets
+    private static SentenceCorpus parse(ByteBuffer text, int[] offsets, int count, int lineStart) {
+        int limit = text.limit();
+
+        while (lineStart < limit) {
+            // Lines end at \n, \r or \r\n, like BufferedReader.readLine
+            int lineEnd = lineStart;
+            while (lineEnd < limit && text.get(lineEnd) != '\n' && text.get(lineEnd) != '\r') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd < limit && text.get(lineEnd) == '\r' && next < limit && text.get(next) == '\n') {
+                next++;
+            }
+
+            // Same trimming as String.trim(); multi-byte UTF-8 sequences never contain bytes <= ' '
+            int start = lineStart;
+            int end = lineEnd;
+            while (start < end && (text.get(start) & 0xFF) <= ' ') start++;
+            while (end > start && (text.get(end - 1) & 0xFF) <= ' ') end--;
+
+            if (start < end) {
+                if (2 * count + 2 > offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[2 * count] = start;
+                offsets[2 * count + 1] = end;
+                count++;
+            }
+            lineStart = next;
+        }
+        return new SentenceCorpus(text, Arrays.copyOf(offsets, 2 * count), count);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public String get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Sentence " + index + " of " + count);
+        }
+        int start = offsets[2 * index];
+        int length = offsets[2 * index + 1] - start;
+        if (text.hasArray()) {
+            return new String(text.array(), text.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        text.get(start, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,96 +1,137 @@
 package main.managers;
 
+import main.jfr.SentenceDrawEvent;
+import main.metrics.Histogram;
+import main.metrics.Metrics;
+
 import java.io.*;
 import java.util.*;
 
 public class SentenceLoader {
-    private List<String> sentences;
+    // Time to get a loaded corpus, from the cache or the file
+    private static final Histogram LOAD_TIME = Metrics.histogram("sentences.load.nanos");
+
+    private SentenceCorpus corpus;
+    private Difficulty difficulty; // Set when the corpus comes from CorpusCache
     private String filename;
-    private List<Integer> unusedIndices; // Track unused sentences
+    private SentenceSampler sampler; // Draws each sentence once per cycle
     private Random rand;
+    private String next; // Drawn early by peekNextSentence()
 
     public SentenceLoader(String filename) {
-        this.filename = filename;
-        this.sentences = new ArrayList<>();
-        this.unusedIndices = new ArrayList<>();
-        this.rand = new Random();
-        loadSentences();
+        this(filename, new Random());
     }
 
-    private void loadSentences() {
-        try {
-            // Try multiple approaches to find the file
-            InputStream input = null;
-            
-            // Try 1: Direct file path
-            File file = new File("src/main/resources/" + filename);
-            if (file.exists()) {
-                input = new FileInputStream(file);
-            }
-            
-            // Try 2: Class loader
-            if (input == null) {
-                input = getClass().getClassLoader().getResourceAsStream(filename);
-            }
-            
-            // Try 3: Absolute class path
-            if (input == null) {
-                input = getClass().getResourceAsStream("/" + filename);
-            }
+    // A fixed seed makes the sentence sequence reproducible
+    public SentenceLoader(String filename, long seed) {
+        this(filename, new Random(seed));
+    }
 
-            if (input == null) {
-                throw new FileNotFoundException("Could not find resource: " + filename);
-            }
+    // Per-game view over the shared corpus in CorpusCache; no file I/O once it is warm
+    public SentenceLoader(Difficulty difficulty) {
+        this(difficulty, new Random());
+    }
 
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(input))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    line = line.trim();
-                    if (!line.isEmpty()) {
-                        sentences.add(line);
-                    }
-                }
-            }
+    public SentenceLoader(Difficulty difficulty, long seed) {
+        this(difficulty, new Random(seed));
+    }
 
-            if (sentences.isEmpty()) {
-                throw new IOException("No sentences found in file: " + filename);
-            }
+    // Draws from a corpus that is already loaded, e.g. a generated one
+    public SentenceLoader(SentenceCorpus corpus, long seed) {
+        this.filename = "<memory>";
+        this.rand = new Random(seed);
+        try {
+            useCorpus(corpus);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
 
-            // Initialize unusedIndices after loading sentences
-            resetUnusedIndices();
+    private SentenceLoader(Difficulty difficulty, Random rand) {
+        this.difficulty = difficulty;
+        this.filename = difficulty.getSentenceFile();
+        this.rand = rand;
+        long start = System.nanoTime();
+        try {
+            useCorpus(CorpusCache.get(difficulty));
+            LOAD_TIME.recordSince(start);
+        } catch (IOException e) {
+            throw new RuntimeException("Error loading sentences from " + filename + ": " + e.getMessage());
+        }
+    }
+
+    private SentenceLoader(String filename, Random rand) {
+        this.filename = filename;
+        this.rand = rand;
+        loadSentences();
+    }
 
+    private void loadSentences() {
+        long start = System.nanoTime();
+        try {
+            useCorpus(SentenceCorpus.load(filename));
+            LOAD_TIME.recordSince(start);
         } catch (IOException e) {
             throw new RuntimeException("Error loading sentences from " + filename + ": " + e.getMessage());
         }
     }
 
-    private void resetUnusedIndices() {
-        unusedIndices.clear();
-        for (int i = 0; i < sentences.size(); i++) {
-            unusedIndices.add(i);
+    private void useCorpus(SentenceCorpus corpus) throws IOException {
+        if (corpus.size() == 0) {
+            throw new IOException("No sentences found in file: " + filename);
         }
-        // Shuffle the indices for additional randomness
-        Collections.shuffle(unusedIndices, rand);
+        this.corpus = corpus;
+        this.sampler = new SentenceSampler(corpus.size(), rand);
     }
 
     public String getRandomSentence() {
-        if (sentences.isEmpty()) {
-            throw new IllegalStateException("No sentences available!");
+        if (next != null) {
+            String sentence = next;
+            next = null;
+            return sentence;
         }
+        return draw();
+    }
+
+    // The sentence the next getRandomSentence() call will return, so it can be prepared early
+    public String peekNextSentence() {
+        if (next == null) {
+            next = draw();
+        }
+        return next;
+    }
+
+    private String draw() {
+        SentenceDrawEvent event = new SentenceDrawEvent();
+        event.begin();
+        boolean reloaded = false;
 
-        // If all sentences have been used, reset the unused indices
-        if (unusedIndices.isEmpty()) {
-            resetUnusedIndices();
+        // Pick up a hot-reloaded corpus between draws; the old one stays valid until then
+        if (difficulty != null) {
+            SentenceCorpus latest = CorpusCache.current(difficulty);
+            if (latest != null && latest != corpus && latest.size() > 0) {
+                corpus = latest;
+                sampler = new SentenceSampler(corpus.size(), rand);
+                reloaded = true;
+            }
         }
 
-        // Get and remove a random index from unusedIndices
-        int randomIndex = rand.nextInt(unusedIndices.size());
-        int sentenceIndex = unusedIndices.remove(randomIndex);
-        
-        return sentences.get(sentenceIndex);
+        if (corpus.size() == 0) {
+            throw new IllegalStateException("No sentences available!");
+        }
+
+        String sentence = corpus.get(sampler.next());
+        if (event.shouldCommit()) {
+            event.difficulty = difficulty != null ? difficulty.name() : filename;
+            event.sentenceLength = sentence.length();
+            event.corpusSize = corpus.size();
+            event.corpusReloaded = reloaded;
+            event.commit();
+        }
+        return sentence;
     }
 
     public int getSentenceCount() {
-        return sentences.size();
+        return corpus.size();
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package main.managers;
+
+import java.util.Random;
+
+// Draws indices 0..size-1 without repeats until every index has been used, then
+// starts a new cycle. Each draw is one step of a lazy Fisher-Yates shuffle over
+// a primitive permutation, so it costs O(1) and never rebuilds the array.
+public class SentenceSampler {
+    private final int[] order;
+    private final Random rand;
+    private int cursor;
+
+    public SentenceSampler(int size, Random rand) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Sampler needs at least one sentence");
+        }
+        this.order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        this.rand = rand;
+    }
+
+    public int next() {
+        // A finished cycle leaves a full permutation behind, so shuffling can simply restart
+        if (cursor == order.length) {
+            cursor = 0;
+        }
+        int pick = cursor + rand.nextInt(order.length - cursor);
+        int index = order[pick];
+        order[pick] = order[cursor];
+        order[cursor] = index;
+        cursor++;
+        return index;
+    }
+
+    // Indices still unused in the current cycle
+    public int remaining() {
+        return order.length - cursor;
+    }
+
+    public int size() {
+        return order.length;
+    }
+}
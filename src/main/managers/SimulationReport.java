@@ -0,0 +1,83 @@
+package main.managers;
+
+import java.util.Arrays;
+
+// Score and round distributions of a batch of simulated games for one difficulty
+public final class SimulationReport {
+    private final Difficulty difficulty;
+    private final int[] scores; // Sorted
+    private final int[] rounds; // Sorted
+    private final int capped;
+    private final long elapsedNanos;
+
+    SimulationReport(Difficulty difficulty, int[] scores, int[] rounds, int capped, long elapsedNanos) {
+        this.difficulty = difficulty;
+        this.scores = scores.clone();
+        this.rounds = rounds.clone();
+        Arrays.sort(this.scores);
+        Arrays.sort(this.rounds);
+        this.capped = capped;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public int getSessions() {
+        return scores.length;
+    }
+
+    // Sessions stopped at the round limit because the bot outpaced the clock
+    public int getCappedSessions() {
+        return capped;
+    }
+
+    public double getSessionsPerSecond() {
+        return elapsedNanos == 0 ? 0 : scores.length / (elapsedNanos / 1e9);
+    }
+
+    public int getScorePercentile(double p) {
+        return percentile(scores, p);
+    }
+
+    public int getRoundPercentile(double p) {
+        return percentile(rounds, p);
+    }
+
+    public double getMeanScore() {
+        return mean(scores);
+    }
+
+    public double getMeanRounds() {
+        return mean(rounds);
+    }
+
+    private static int percentile(int[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double mean(int[] values) {
+        long sum = 0;
+        for (int v : values) {
+            sum += v;
+        }
+        return values.length == 0 ? 0 : (double) sum / values.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-6s %7d sessions (%.0f/s, %d capped)%n"
+                        + "  score  mean %8.1f  p10 %6d  p50 %6d  p90 %6d  p99 %6d  max %6d%n"
+                        + "  rounds mean %8.1f  p10 %6d  p50 %6d  p90 %6d  p99 %6d  max %6d",
+                difficulty, getSessions(), getSessionsPerSecond(), capped,
+                getMeanScore(), getScorePercentile(10), getScorePercentile(50), getScorePercentile(90),
+                getScorePercentile(99), getScorePercentile(100),
+                getMeanRounds(), getRoundPercentile(10), getRoundPercentile(50), getRoundPercentile(90),
+                getRoundPercentile(99), getRoundPercentile(100));
+    }
+}
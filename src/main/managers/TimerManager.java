@@ -1,15 +1,38 @@
 package main.managers;
 
+import main.jfr.SpeedAdjustEvent;
+import main.jfr.TimerTickEvent;
+import main.metrics.Histogram;
+import main.metrics.Metrics;
+
 import javax.swing.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Countdown driven by a deadline on the GameScheduler's clock with millisecond resolution.
+// The remaining time is always derived from the clock, so a late tick never loses
+// time, and pausing the scheduler freezes the countdown. The scheduler wakes the timer
+// when the displayed second changes or the deadline passes; at most one UI update is
+// pending on Swing at a time, and the callbacks always run on the Event Dispatch Thread.
+public class TimerManager implements Countdown {
+    private static final long SECOND_NANOS = 1_000_000_000L;
+    // How late each tick ran compared to when it was due, on the game clock
+    private static final Histogram TICK_JITTER = Metrics.histogram("timer.tick.jitter.nanos");
 
-public class TimerManager {
-    private Timer timer;
-    private int timeRemaining;
-    private int baseTime;
+    private final GameScheduler scheduler;
+
+    private long deadlineNanos;    // While running
+    private long remainingMillis;  // While stopped
+    private long baseMillis;
     private TimerCallback callback;
     private boolean isRunning;
+    private GameScheduler.Task tickTask;
+    private long tickGeneration; // A tick that was already due when it got cancelled is ignored
+    private long tickDueNanos;
+
+    // Coalescing of the updates posted to the EDT
+    private final AtomicBoolean updatePending = new AtomicBoolean();
+    private volatile int lastPostedSeconds = -1;
 
     public interface TimerCallback {
         void onTimeUpdate(int timeRemaining);
@@ -17,99 +40,208 @@ public class TimerManager {
     }
 
     public TimerManager(int initialTime, TimerCallback callback) {
-        this.baseTime = initialTime;
-        this.timeRemaining = initialTime;
+        this(initialTime, callback, GameScheduler.shared());
+    }
+
+    public TimerManager(int initialTime, TimerCallback callback, GameScheduler scheduler) {
+        this.scheduler = scheduler;
+        this.baseMillis = initialTime * 1000L;
+        this.remainingMillis = baseMillis;
         this.callback = callback;
         this.isRunning = false;
-        
-        this.timer = new Timer(1000, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                timeRemaining--;
-                callback.onTimeUpdate(timeRemaining);
-                
-                if (timeRemaining <= 0) {
-                    stop();
-                    callback.onTimeUp();
-                }
-            }
-        });
     }
 
-    public void start() {
-        if (!isRunning) {
-            timer.start();
+    public synchronized void start() {
+        if (!isRunning && remainingMillis > 0) {
+            deadlineNanos = scheduler.nanoTime() + TimeUnit.MILLISECONDS.toNanos(remainingMillis);
             isRunning = true;
+            scheduleNextTick();
         }
     }
 
-    public void stop() {
-        if (isRunning) {
-            timer.stop();
-            isRunning = false;
+    // Next wake-up is the next whole-second boundary of the remaining time, or the deadline
+    private void scheduleNextTick() {
+        long now = scheduler.nanoTime();
+        long remainingNanos = Math.max(0, deadlineNanos - now);
+        long delay = remainingNanos % SECOND_NANOS;
+        if (delay == 0 && remainingNanos > 0) {
+            delay = SECOND_NANOS;
         }
+        long generation = ++tickGeneration;
+        tickDueNanos = now + delay;
+        tickTask = scheduler.schedule(delay, TimeUnit.NANOSECONDS, () -> tick(generation));
     }
 
-    public void pause() {
+    public synchronized void stop() {
         if (isRunning) {
-            timer.stop();
+            remainingMillis = getTimeRemainingMillis();
             isRunning = false;
+            tickTask.cancel();
+            tickTask = null;
         }
     }
 
+    public void pause() {
+        stop();
+    }
+
     public void resume() {
-        if (!isRunning && timeRemaining > 0) {
-            timer.start();
-            isRunning = true;
+        start();
+    }
+
+    private void tick(long generation) {
+        TimerTickEvent event = new TimerTickEvent();
+        event.begin();
+        boolean timeUp;
+        long lateNanos;
+        long remaining;
+        synchronized (this) {
+            if (!isRunning || generation != tickGeneration) {
+                return;
+            }
+            lateNanos = scheduler.nanoTime() - tickDueNanos;
+            TICK_JITTER.record(lateNanos);
+            remaining = getTimeRemainingMillis();
+            timeUp = remaining <= 0;
+            if (timeUp) {
+                stop();
+            } else {
+                scheduleNextTick();
+            }
+        }
+        if (event.shouldCommit()) {
+            event.lateNanos = lateNanos;
+            event.remainingMillis = remaining;
+            event.timeUp = timeUp;
+            event.commit();
+        }
+        int seconds = toSeconds(remaining);
+
+        if (timeUp) {
+            SwingUtilities.invokeLater(() -> {
+                callback.onTimeUpdate(0);
+                callback.onTimeUp();
+            });
+        } else if (seconds != lastPostedSeconds) {
+            postUpdate();
         }
     }
 
+    // Only one update waits on the EDT at a time; it reads the time when it runs, not when posted.
+    // Every change to the countdown reports through here, whichever thread made it.
+    private void postUpdate() {
+        if (updatePending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(() -> {
+                updatePending.set(false);
+                int seconds = getTimeRemaining();
+                lastPostedSeconds = seconds;
+                callback.onTimeUpdate(seconds);
+            });
+        }
+    }
+
+    @Override
     public void addTime(int seconds) {
-        timeRemaining += seconds;
-        callback.onTimeUpdate(timeRemaining);
+        addTimeMillis(seconds * 1000L);
+    }
+
+    public void addTimeMillis(long millis) {
+        synchronized (this) {
+            if (isRunning) {
+                deadlineNanos += TimeUnit.MILLISECONDS.toNanos(millis);
+                tickTask.cancel();
+                scheduleNextTick();
+            } else {
+                remainingMillis += millis;
+            }
+        }
+        postUpdate();
     }
 
+    @Override
     public void adjustSpeedForRound(int round) {
-        // Every 5 rounds, decrease base time by 2 seconds (minimum 5 seconds)
-        int speedIncrements = (round - 1) / 5;
-        int adjustedBaseTime = Math.max(5, baseTime - (speedIncrements * 2));
-        
+        long adjustedBaseMillis = adjustedBaseMillis(baseMillis, round);
+
         // If we need to adjust the current timer
-        if (adjustedBaseTime != baseTime) {
-            boolean wasRunning = isRunning;
-            stop();
-            
-            // Calculate ratio to maintain relative time
-            double ratio = (double) timeRemaining / baseTime;
-            baseTime = adjustedBaseTime;
-            timeRemaining = Math.max(1, (int) (baseTime * ratio));
-            
-            if (wasRunning) {
-                start();
+        if (adjustedBaseMillis != baseMillis) {
+            SpeedAdjustEvent event = new SpeedAdjustEvent();
+            event.begin();
+            long oldBaseMillis;
+            long remainingBeforeMillis;
+            long remainingAfterMillis;
+            synchronized (this) {
+                boolean wasRunning = isRunning;
+                stop();
+
+                oldBaseMillis = baseMillis;
+                remainingBeforeMillis = remainingMillis;
+                remainingMillis = scaledRemainingMillis(remainingMillis, baseMillis, adjustedBaseMillis);
+                baseMillis = adjustedBaseMillis;
+                remainingAfterMillis = remainingMillis;
+
+                if (wasRunning) {
+                    start();
+                }
             }
-            
-            callback.onTimeUpdate(timeRemaining);
+            if (event.shouldCommit()) {
+                event.round = round;
+                event.oldBaseMillis = oldBaseMillis;
+                event.newBaseMillis = adjustedBaseMillis;
+                event.remainingBeforeMillis = remainingBeforeMillis;
+                event.remainingAfterMillis = remainingAfterMillis;
+                event.commit();
+            }
+
+            postUpdate();
         }
     }
 
     public void reset() {
-        stop();
-        timeRemaining = baseTime;
-        callback.onTimeUpdate(timeRemaining);
+        synchronized (this) {
+            stop();
+            remainingMillis = baseMillis;
+        }
+        postUpdate();
     }
 
     public void resetToNewBase(int newBaseTime) {
-        stop();
-        this.baseTime = newBaseTime;
-        this.timeRemaining = newBaseTime;
-        callback.onTimeUpdate(timeRemaining);
+        synchronized (this) {
+            stop();
+            this.baseMillis = newBaseTime * 1000L;
+            this.remainingMillis = baseMillis;
+        }
+        postUpdate();
     }
 
+    // Whole seconds left, rounded up so the display reaches 0 only when time is really up
+    @Override
     public int getTimeRemaining() {
-        return timeRemaining;
+        return toSeconds(getTimeRemainingMillis());
+    }
+
+    public synchronized long getTimeRemainingMillis() {
+        if (!isRunning) {
+            return remainingMillis;
+        }
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - scheduler.nanoTime()));
     }
 
-    public boolean isRunning() {
+    public synchronized boolean isRunning() {
         return isRunning;
     }
-}
\ No newline at end of file
+
+    // Every 5 rounds, decrease base time by 2 seconds (minimum 5 seconds)
+    static long adjustedBaseMillis(long baseMillis, int round) {
+        int speedIncrements = (round - 1) / 5;
+        return Math.max(5000, baseMillis - (speedIncrements * 2000L));
+    }
+
+    // Scale the remaining time to keep the same share of the base time
+    static long scaledRemainingMillis(long remainingMillis, long oldBaseMillis, long newBaseMillis) {
+        return Math.max(1000, remainingMillis * newBaseMillis / oldBaseMillis);
+    }
+
+    static int toSeconds(long millis) {
+        return (int) ((Math.max(0, millis) + 999) / 1000);
+    }
+}
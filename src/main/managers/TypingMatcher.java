@@ -0,0 +1,176 @@
+package main.managers;
+
+// Tracks the player's input against the current sentence one edit at a time.
+// Appending or deleting at the end of the input is O(1) per character; the typed
+// text is mirrored in a reused char[] so no String is built per keystroke.
+// The edit distance to the sentence is streamed alongside, one column per character.
+// Its columns are kept per typed length, so a trailing delete just steps back to an
+// earlier column; only an edit in the middle re-streams the characters after it.
+public class TypingMatcher {
+    private final EditDistance editDistance = new EditDistance(true);
+
+    private String target = "";
+    private char[] typed = new char[128];
+    private int typedLength;
+    private int matched; // Length of the longest prefix of the input that matches the target
+
+    // Session totals used for live WPM and accuracy
+    private long sessionStartNanos = -1;
+    private long completedChars;
+    private long keystrokes;
+    private long correctKeystrokes;
+
+    // Timing of the current sentence, used to score it
+    private long sentenceStartNanos = -1;
+    private long sentenceKeystrokes;
+    private long sentenceCorrectKeystrokes;
+
+    public void reset(String target) {
+        this.target = target;
+        this.editDistance.setPattern(target);
+        this.typedLength = 0;
+        this.matched = 0;
+        this.sentenceStartNanos = -1;
+        this.sentenceKeystrokes = 0;
+        this.sentenceCorrectKeystrokes = 0;
+    }
+
+    public void insert(int offset, CharSequence text, long nowNanos) {
+        int length = text.length();
+        if (length == 0) {
+            return;
+        }
+        if (sessionStartNanos < 0) {
+            sessionStartNanos = nowNanos;
+        }
+        if (sentenceStartNanos < 0) {
+            sentenceStartNanos = nowNanos;
+        }
+
+        ensureCapacity(typedLength + length);
+        System.arraycopy(typed, offset, typed, offset + length, typedLength - offset);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            typed[offset + i] = c;
+            boolean correct = offset + i < target.length() && target.charAt(offset + i) == c;
+            keystrokes++;
+            sentenceKeystrokes++;
+            if (correct) {
+                correctKeystrokes++;
+                sentenceCorrectKeystrokes++;
+            }
+        }
+        typedLength += length;
+
+        if (offset <= matched) {
+            matched = offset;
+            extendMatch();
+        }
+
+        restreamFrom(offset);
+    }
+
+    public void remove(int offset, int length) {
+        System.arraycopy(typed, offset + length, typed, offset, typedLength - offset - length);
+        typedLength -= length;
+        // Deleting the first wrong character can let the match run on past it
+        if (offset <= matched) {
+            matched = offset;
+            extendMatch();
+        }
+        restreamFrom(offset);
+    }
+
+    // Goes back to the column before the edit and streams whatever follows it again;
+    // nothing follows an edit at the end, so that costs one column per typed character
+    private void restreamFrom(int offset) {
+        editDistance.truncate(Math.min(offset, editDistance.getTextLength()));
+        for (int i = editDistance.getTextLength(); i < typedLength; i++) {
+            editDistance.append(typed[i]);
+        }
+    }
+
+    private void extendMatch() {
+        int limit = Math.min(typedLength, target.length());
+        while (matched < limit && typed[matched] == target.charAt(matched)) {
+            matched++;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > typed.length) {
+            char[] grown = new char[Math.max(capacity, typed.length * 2)];
+            System.arraycopy(typed, 0, grown, 0, typedLength);
+            typed = grown;
+        }
+    }
+
+    // Counts the current sentence towards the session WPM once it has been accepted
+    public void completeSentence() {
+        completedChars += target.length();
+    }
+
+    public int getMatchedLength() {
+        return matched;
+    }
+
+    public int getTypedLength() {
+        return typedLength;
+    }
+
+    // Index of the first wrong character, or -1 if everything typed so far is correct
+    public int getErrorPosition() {
+        return matched < typedLength ? matched : -1;
+    }
+
+    // Edits needed to turn the input into the start of the sentence
+    public int getMistakes() {
+        return editDistance.getPrefixDistance();
+    }
+
+    // Share of the typed characters that are not mistakes
+    public double getLiveAccuracy() {
+        return EditDistance.accuracy(getMistakes(), 0, typedLength);
+    }
+
+    public boolean isComplete() {
+        return matched == target.length() && typedLength == target.length();
+    }
+
+    // Words (5 characters each) of correct text per minute since the first keystroke of the game
+    public double getWordsPerMinute(long nowNanos) {
+        if (sessionStartNanos < 0) {
+            return 0;
+        }
+        return wordsPerMinute(completedChars + matched, nowNanos - sessionStartNanos);
+    }
+
+    public double getAccuracy() {
+        return keystrokes == 0 ? 1.0 : (double) correctKeystrokes / keystrokes;
+    }
+
+    public double getSentenceWordsPerMinute(long nowNanos) {
+        if (sentenceStartNanos < 0) {
+            return 0;
+        }
+        return wordsPerMinute(matched, nowNanos - sentenceStartNanos);
+    }
+
+    public double getSentenceAccuracy() {
+        return sentenceKeystrokes == 0 ? 1.0 : (double) sentenceCorrectKeystrokes / sentenceKeystrokes;
+    }
+
+    // 10 points per sentence plus a speed bonus of 1 point per 10 WPM, scaled by accuracy
+    public int getSentencePoints(long nowNanos) {
+        double bonus = getSentenceWordsPerMinute(nowNanos) * getSentenceAccuracy() / 10.0;
+        return 10 + (int) Math.round(bonus);
+    }
+
+    private static double wordsPerMinute(long chars, long elapsedNanos) {
+        // Ignore the first half second so one quick keystroke does not show an absurd speed
+        if (elapsedNanos < 500_000_000L) {
+            return 0;
+        }
+        return (chars / 5.0) / (elapsedNanos / 60_000_000_000.0);
+    }
+}
@@ -0,0 +1,46 @@
+package main.managers;
+
+// Countdown with the same rules as TimerManager, but time only passes when advance() is
+// called. Used to run games faster than real time.
+public class VirtualCountdown implements Countdown {
+    private long baseMillis;
+    private long remainingMillis;
+
+    public VirtualCountdown(int initialTime) {
+        this.baseMillis = initialTime * 1000L;
+        this.remainingMillis = baseMillis;
+    }
+
+    // Lets the given time pass; returns false once the time is up
+    public boolean advance(long millis) {
+        remainingMillis = Math.max(0, remainingMillis - millis);
+        return remainingMillis > 0;
+    }
+
+    public boolean isTimeUp() {
+        return remainingMillis == 0;
+    }
+
+    @Override
+    public void addTime(int seconds) {
+        remainingMillis += seconds * 1000L;
+    }
+
+    @Override
+    public void adjustSpeedForRound(int round) {
+        long adjustedBaseMillis = TimerManager.adjustedBaseMillis(baseMillis, round);
+        if (adjustedBaseMillis != baseMillis) {
+            remainingMillis = TimerManager.scaledRemainingMillis(remainingMillis, baseMillis, adjustedBaseMillis);
+            baseMillis = adjustedBaseMillis;
+        }
+    }
+
+    @Override
+    public int getTimeRemaining() {
+        return TimerManager.toSeconds(remainingMillis);
+    }
+
+    public long getTimeRemainingMillis() {
+        return remainingMillis;
+    }
+}
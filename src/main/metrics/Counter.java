@@ -0,0 +1,24 @@
+package main.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Monotonic count; increments from many threads only touch their own LongAdder cell
+public final class Counter implements CounterMBean {
+    private final LongAdder count = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long n) {
+        count.add(n);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,5 @@
+package main.metrics;
+
+public interface CounterMBean {
+    long getCount();
+}
@@ -0,0 +1,17 @@
+package main.metrics;
+
+import java.util.function.LongSupplier;
+
+// Value read from its owner whenever someone looks; recording costs nothing
+public final class Gauge implements GaugeMBean {
+    private final LongSupplier supplier;
+
+    Gauge(LongSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public long getValue() {
+        return supplier.getAsLong();
+    }
+}
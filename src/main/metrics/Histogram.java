@@ -0,0 +1,105 @@
+package main.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Distribution of non-negative values in power-of-two buckets: bucket i holds values
+// from 2^(i-1) up to 2^i - 1, so a percentile is exact to within a factor of two. Recording finds the
+// bucket with one instruction and bumps a LongAdder; nothing is locked or allocated.
+public final class Histogram implements HistogramMBean {
+    static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+        value = Math.max(0, value);
+        buckets[bucketOf(value)].increment();
+        sum.add(value);
+        // Usually a single read: the max rarely changes
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    // Records the time since startNanos, taken with System.nanoTime()
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    @Override
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    @Override
+    public long getMax() {
+        return max.get();
+    }
+
+    @Override
+    public long getP50() {
+        return percentile(50);
+    }
+
+    @Override
+    public long getP90() {
+        return percentile(90);
+    }
+
+    @Override
+    public long getP99() {
+        return percentile(99);
+    }
+
+    // Upper bound of the bucket holding the given percentile, capped at the largest value seen
+    public long percentile(double p) {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return percentile(counts, p, max.get());
+    }
+
+    static int bucketOf(long value) {
+        return BUCKETS - Long.numberOfLeadingZeros(value);
+    }
+
+    static long percentile(long[] counts, double p, long max) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                long upper = (1L << i) - 1; // Long.MAX_VALUE for the last bucket
+                return Math.min(upper, max);
+            }
+        }
+        return max;
+    }
+}
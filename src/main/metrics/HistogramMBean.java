@@ -0,0 +1,15 @@
+package main.metrics;
+
+public interface HistogramMBean {
+    long getCount();
+
+    double getMean();
+
+    long getMax();
+
+    long getP50();
+
+    long getP90();
+
+    long getP99();
+}
@@ -0,0 +1,49 @@
+package main.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts events and reports them per second. Marking is a single LongAdder increment;
+// the rates are worked out when they are read.
+public final class Meter implements MeterMBean {
+    private static final long MIN_SAMPLE_NANOS = 1_000_000_000L;
+
+    private final LongAdder count = new LongAdder();
+    private final long startNanos = System.nanoTime();
+
+    // Last sample taken by a reader, guarded by this
+    private long sampleCount;
+    private long sampleNanos = startNanos;
+    private double recentRate;
+
+    Meter() {
+    }
+
+    public void mark() {
+        count.increment();
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    // Events per second since the meter was created
+    @Override
+    public double getMeanRate() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds <= 0 ? 0 : count.sum() / seconds;
+    }
+
+    // Events per second since the previous reading that was at least a second ago
+    @Override
+    public synchronized double getRecentRate() {
+        long now = System.nanoTime();
+        if (now - sampleNanos >= MIN_SAMPLE_NANOS) {
+            long current = count.sum();
+            recentRate = (current - sampleCount) / ((now - sampleNanos) / 1e9);
+            sampleCount = current;
+            sampleNanos = now;
+        }
+        return recentRate;
+    }
+}
@@ -0,0 +1,9 @@
+package main.metrics;
+
+public interface MeterMBean {
+    long getCount();
+
+    double getMeanRate();
+
+    double getRecentRate();
+}
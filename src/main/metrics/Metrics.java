@@ -0,0 +1,78 @@
+package main.metrics;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// Process-wide metrics registry. Metrics are looked up once, usually into a static
+// final field, and recorded without touching the registry again. Every metric is also
+// registered as an MBean under "main.metrics:type=<kind>,name=<name>", so jconsole or
+// any JMX client can read it. Durations are recorded in nanoseconds and named *.nanos.
+public final class Metrics {
+    private static final String DOMAIN = "main.metrics";
+    private static final Map<String, Object> metrics = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    public static Counter counter(String name) {
+        return register(name, Counter.class, new Counter());
+    }
+
+    public static Meter meter(String name) {
+        return register(name, Meter.class, new Meter());
+    }
+
+    public static Histogram histogram(String name) {
+        return register(name, Histogram.class, new Histogram());
+    }
+
+    // Only the last windowSeconds of values count
+    public static RollingHistogram rollingHistogram(String name, int windowSeconds) {
+        return register(name, RollingHistogram.class, new RollingHistogram(windowSeconds));
+    }
+
+    // Replaces an earlier gauge of the same name
+    public static Gauge gauge(String name, LongSupplier supplier) {
+        Gauge gauge = new Gauge(supplier);
+        metrics.put(name, gauge);
+        registerMBean(name, gauge, true);
+        return gauge;
+    }
+
+    // Every metric by name, in name order
+    public static Map<String, Object> all() {
+        return new TreeMap<>(metrics);
+    }
+
+    private static <T> T register(String name, Class<T> type, T created) {
+        Object existing = metrics.putIfAbsent(name, created);
+        if (existing == null) {
+            registerMBean(name, created, false);
+            return created;
+        }
+        if (!type.isInstance(existing)) {
+            throw new IllegalArgumentException("Metric " + name + " is already a " + existing.getClass().getSimpleName());
+        }
+        return type.cast(existing);
+    }
+
+    private static void registerMBean(String name, Object metric, boolean replace) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + metric.getClass().getSimpleName()
+                    + ",name=" + ObjectName.quote(name));
+            if (replace && server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(metric, objectName);
+        } catch (Exception | LinkageError e) {
+            // Still recorded and dumped, just not visible over JMX
+            System.err.println("Error registering metric " + name + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package main.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Writes every metric to a text file at a fixed interval, one metric per line. The file
+// is written next to the target and then moved over it, so readers never see half a dump.
+//
+// Enabled with -Dmetrics.file=<path>; -Dmetrics.interval sets the seconds between dumps (default 10).
+public final class MetricsReporter {
+    private static boolean started;
+
+    private final Path file;
+
+    private MetricsReporter(Path file) {
+        this.file = file;
+    }
+
+    public static synchronized void startFromProperties() {
+        String filename = System.getProperty("metrics.file");
+        if (started || filename == null) {
+            return;
+        }
+        long interval = Long.getLong("metrics.interval", 10);
+        MetricsReporter reporter = new MetricsReporter(Paths.get(filename));
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleAtFixedRate(reporter::dump, interval, interval, TimeUnit.SECONDS);
+        started = true;
+    }
+
+    void dump() {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write("# " + Instant.now());
+            writer.newLine();
+            for (Map.Entry<String, Object> entry : Metrics.all().entrySet()) {
+                writer.write(format(entry.getKey(), entry.getValue()));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing metrics: " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error writing metrics: " + e.getMessage());
+        }
+    }
+
+    static String format(String name, Object metric) {
+        if (metric instanceof Counter) {
+            return name + " count=" + ((Counter) metric).getCount();
+        }
+        if (metric instanceof Gauge) {
+            return name + " value=" + ((Gauge) metric).getValue();
+        }
+        if (metric instanceof Meter) {
+            Meter meter = (Meter) metric;
+            return String.format("%s count=%d mean_rate=%.2f recent_rate=%.2f",
+                    name, meter.getCount(), meter.getMeanRate(), meter.getRecentRate());
+        }
+        if (metric instanceof RollingHistogram) {
+            RollingHistogram histogram = (RollingHistogram) metric;
+            return String.format("%s window=%ds count=%d p50=%d p90=%d p99=%d max=%d", name,
+                    histogram.getWindowSeconds(), histogram.getCount(), histogram.getP50(), histogram.getP90(),
+                    histogram.getP99(), histogram.getMax());
+        }
+        Histogram histogram = (Histogram) metric;
+        return String.format("%s count=%d mean=%.0f p50=%d p90=%d p99=%d max=%d", name, histogram.getCount(),
+                histogram.getMean(), histogram.getP50(), histogram.getP90(), histogram.getP99(), histogram.getMax());
+    }
+}
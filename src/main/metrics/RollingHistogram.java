@@ -0,0 +1,114 @@
+package main.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Histogram over the last windowSeconds only. Each second of the window has its own
+// row of power-of-two buckets, reused once the window has moved past it, so recording
+// stays a bucket lookup and an atomic add. A value recorded while another thread is
+// clearing a reused row can be lost; that only blurs the edge of the window.
+public final class RollingHistogram implements RollingHistogramMBean {
+    private static final long SECOND_NANOS = 1_000_000_000L;
+    private static final int BUCKETS = Histogram.BUCKETS;
+
+    private final int windowSeconds;
+    private final AtomicLongArray counts;  // windowSeconds rows of BUCKETS
+    private final AtomicLongArray maxima;  // Per row
+    private final AtomicLongArray seconds; // Which second each row currently holds
+
+    RollingHistogram(int windowSeconds) {
+        this.windowSeconds = windowSeconds;
+        this.counts = new AtomicLongArray(windowSeconds * BUCKETS);
+        this.maxima = new AtomicLongArray(windowSeconds);
+        this.seconds = new AtomicLongArray(windowSeconds);
+        for (int row = 0; row < windowSeconds; row++) {
+            seconds.set(row, Long.MIN_VALUE); // nanoTime() may be negative, so -1 is a real second
+        }
+    }
+
+    public void record(long value) {
+        value = Math.max(0, value);
+        long second = currentSecond();
+        int row = rowOf(second);
+        long held = seconds.get(row);
+        if (held != second && seconds.compareAndSet(row, held, second)) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(row * BUCKETS + i, 0);
+            }
+            maxima.set(row, 0);
+        }
+        counts.incrementAndGet(row * BUCKETS + Histogram.bucketOf(value));
+        long current = maxima.get(row);
+        while (value > current && !maxima.compareAndSet(row, current, value)) {
+            current = maxima.get(row);
+        }
+    }
+
+    // floorDiv and floorMod, not / and %: nanoTime() has an arbitrary origin and can be
+    // negative, and truncating towards zero would merge the seconds either side of it
+    private static long currentSecond() {
+        return Math.floorDiv(System.nanoTime(), SECOND_NANOS);
+    }
+
+    private int rowOf(long second) {
+        return (int) Math.floorMod(second, (long) windowSeconds);
+    }
+
+    @Override
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    @Override
+    public long getCount() {
+        long count = 0;
+        for (long bucket : window()) {
+            count += bucket;
+        }
+        return count;
+    }
+
+    @Override
+    public long getMax() {
+        long oldest = currentSecond() - windowSeconds + 1;
+        long max = 0;
+        for (int row = 0; row < windowSeconds; row++) {
+            if (seconds.get(row) >= oldest) {
+                max = Math.max(max, maxima.get(row));
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public long getP50() {
+        return percentile(50);
+    }
+
+    @Override
+    public long getP90() {
+        return percentile(90);
+    }
+
+    @Override
+    public long getP99() {
+        return percentile(99);
+    }
+
+    public long percentile(double p) {
+        return Histogram.percentile(window(), p, getMax());
+    }
+
+    // Bucket counts summed over the rows still inside the window
+    private long[] window() {
+        long oldest = currentSecond() - windowSeconds + 1;
+        long[] total = new long[BUCKETS];
+        for (int row = 0; row < windowSeconds; row++) {
+            if (seconds.get(row) >= oldest) {
+                for (int i = 0; i < BUCKETS; i++) {
+                    total[i] += counts.get(row * BUCKETS + i);
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,15 @@
+package main.metrics;
+
+public interface RollingHistogramMBean {
+    int getWindowSeconds();
+
+    long getCount();
+
+    long getMax();
+
+    long getP50();
+
+    long getP90();
+
+    long getP99();
+}
@@ -0,0 +1,39 @@
+package main.server;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+// One thread per connection: a virtual thread when the JVM has them (Java 21+), looked up
+// reflectively so the game still builds and runs on Java 17, where it falls back to
+// platform daemon threads.
+final class ConnectionThreads {
+    private ConnectionThreads() {
+    }
+
+    static ThreadFactory factory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix + "-", 0L);
+            Method factory = builderType.getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            AtomicLong counter = new AtomicLong();
+            return r -> {
+                Thread t = new Thread(r, prefix + "-" + counter.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            };
+        }
+    }
+
+    static boolean isVirtual(ThreadFactory factory) {
+        Thread probe = factory.newThread(() -> { });
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(probe);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package main.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import main.managers.HighScoreManager;
+import main.managers.ScoreTable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Read-only leaderboard over HTTP for displays that poll it. Responses are serialized
+// once per leaderboard version and then served from memory: a request only compares
+// the store's version with the cached one, so polling never parses or sorts scores
+// and never touches the score file. Every response carries an ETag, and a matching
+// If-None-Match gets an empty 304.
+//
+//   GET /top?n=10         {"version":..,"scores":[{"rank":1,"name":"..","score":..},..]}
+//   GET /rank?name=alice  {"name":"alice","score":..,"rank":..}, or 404 for unknown players
+//
+// Usage: java main.server.LeaderboardServer [port]   (or -Dleaderboard.port with the game)
+// Standalone, the server always reads the mapped score file, whose change counter is
+// shared by every process; the text log would only ever show the scores it had at startup.
+public class LeaderboardServer {
+    public static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_TOP = 10;
+    private static final int MAX_TOP = 1000;
+    private static final int MAX_CACHED = 10_000; // Responses per version; more are built but not kept
+
+    private final HighScoreManager scores;
+    private final HttpServer server;
+    private final ExecutorService workers;
+    // Distinguishes ETags of this process from ones handed out before a restart
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private volatile Cache cache = new Cache(-1, ScoreTable.EMPTY, "");
+
+    // Every response for one leaderboard version, built on first request
+    private static final class Cache {
+        final long version;
+        final ScoreTable table;
+        final String etag;
+        final Map<String, byte[]> responses = new ConcurrentHashMap<>();
+
+        Cache(long version, ScoreTable table, String etag) {
+            this.version = version;
+            this.table = table;
+            this.etag = etag;
+        }
+    }
+
+    public LeaderboardServer(HighScoreManager scores, int port) throws IOException {
+        this.scores = scores;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 256);
+        this.workers = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+            Thread thread = new Thread(r, "leaderboard-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/top", this::top);
+        server.createContext("/rank", this::rank);
+        server.setExecutor(workers);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        enableNoDelay();
+        if (!Boolean.getBoolean("highscores.mapped")) {
+            System.out.println("Serving the mapped score file; run the games with -Dhighscores.mapped=true");
+            System.setProperty("highscores.mapped", "true");
+        }
+        LeaderboardServer server = new LeaderboardServer(new HighScoreManager(), port);
+        server.start();
+        System.out.println("Leaderboard on http://localhost:" + server.getPort() + "/top");
+    }
+
+    // Starts a server next to the game when -Dleaderboard.port is set; scores saved by the
+    // game show up on the next request since both share the same score store. Scores from
+    // other game processes only show up with -Dhighscores.mapped=true.
+    public static void startFromProperties() {
+        Integer port = Integer.getInteger("leaderboard.port");
+        if (port == null) {
+            return;
+        }
+        enableNoDelay();
+        try {
+            new LeaderboardServer(new HighScoreManager(), port).start();
+        } catch (IOException e) {
+            System.err.println("Error starting leaderboard server: " + e.getMessage());
+        }
+    }
+
+    // Headers and body go out in separate writes; with Nagle on, every keep-alive response
+    // waits for the client's delayed ACK (about 40 ms). The JDK reads this property once,
+    // for every HttpServer in the JVM, so it is only set by the entry points above and only
+    // before the first server is created; -Dsun.net.httpserver.nodelay=false still wins.
+    private static void enableNoDelay() {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        workers.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Rebuilt only when a saved score changed the leaderboard since the last request
+    private Cache current() {
+        long version = scores.getVersion();
+        Cache current = cache;
+        if (current.version != version) {
+            current = new Cache(version, scores.snapshot(), "\"" + epoch + "-" + version + "\"");
+            cache = current;
+        }
+        return current;
+    }
+
+    private void top(HttpExchange exchange) throws IOException {
+        if (!readOnly(exchange)) {
+            return;
+        }
+        int n = DEFAULT_TOP;
+        String value = parameter(exchange, "n");
+        if (value != null) {
+            try {
+                n = Math.max(1, Math.min(MAX_TOP, Integer.parseInt(value)));
+            } catch (NumberFormatException e) {
+                send(exchange, 400, null, null);
+                return;
+            }
+        }
+        int limit = n;
+        Cache current = current();
+        respond(exchange, current, "top:" + limit, () -> topJson(current, limit));
+    }
+
+    private void rank(HttpExchange exchange) throws IOException {
+        if (!readOnly(exchange)) {
+            return;
+        }
+        String name = parameter(exchange, "name");
+        if (name == null || name.isEmpty()) {
+            send(exchange, 400, null, null);
+            return;
+        }
+        Cache current = current();
+        if (current.table.getBestScore(name) == null) {
+            send(exchange, 404, null, null);
+            return;
+        }
+        respond(exchange, current, "rank:" + name, () -> rankJson(current, name));
+    }
+
+    // Answers anything but GET and HEAD with 405 before the request is looked at further
+    private static boolean readOnly(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (method.equals("GET") || method.equals("HEAD")) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+        send(exchange, 405, null, null);
+        return false;
+    }
+
+    private void respond(HttpExchange exchange, Cache current, String key, JsonBuilder builder) throws IOException {
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (current.etag.equals(ifNoneMatch)) {
+            send(exchange, 304, current.etag, null);
+            return;
+        }
+        byte[] body = current.responses.get(key);
+        if (body == null) {
+            body = builder.build().getBytes(StandardCharsets.UTF_8);
+            if (current.responses.size() < MAX_CACHED) {
+                current.responses.putIfAbsent(key, body);
+            }
+        }
+        send(exchange, 200, current.etag, exchange.getRequestMethod().equals("HEAD") ? null : body);
+    }
+
+    private interface JsonBuilder {
+        String build();
+    }
+
+    private static void send(HttpExchange exchange, int status, String etag, byte[] body) throws IOException {
+        try (exchange) {
+            if (etag != null) {
+                exchange.getResponseHeaders().set("ETag", etag);
+                exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            }
+            if (body == null) {
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static String topJson(Cache current, int limit) {
+        List<Map.Entry<String, Integer>> top = current.table.getIndex().topScores(limit);
+        StringBuilder sb = new StringBuilder(32 + top.size() * 48);
+        sb.append("{\"version\":").append(current.version).append(",\"scores\":[");
+        for (int i = 0; i < top.size(); i++) {
+            Map.Entry<String, Integer> entry = top.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"rank\":").append(i + 1).append(",\"name\":");
+            quote(sb, entry.getKey());
+            sb.append(",\"score\":").append(entry.getValue()).append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static String rankJson(Cache current, String name) {
+        int score = current.table.getBestScore(name);
+        StringBuilder sb = new StringBuilder(64).append("{\"name\":");
+        quote(sb, name);
+        return sb.append(",\"score\":").append(score)
+                .append(",\"rank\":").append(current.table.getPlayerRank(name, score)).append('}').toString();
+    }
+
+    private static void quote(StringBuilder sb, String text) {
+        sb.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    private static String parameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            if (key.equals(name)) {
+                return eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,185 @@
+package main.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Simulated racers for load-testing a RaceServer on localhost. Each racer types every
+// sentence at its own speed, reports progress after each word and submits the answer;
+// the time from SUBMIT to the server's reply is recorded for every answer.
+//
+// Usage: java main.server.RaceLoadGenerator [racers] [racers per room] [wpm] [port]
+public final class RaceLoadGenerator {
+    private final int port;
+    private final double wpm;
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder messagesReceived = new LongAdder();
+    private final AtomicInteger racesFinished = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final long[][] submitNanos; // Per racer, filled by its own thread
+
+    private RaceLoadGenerator(int racers, double wpm, int port) {
+        this.port = port;
+        this.wpm = wpm;
+        this.submitNanos = new long[racers][];
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int racers = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int perRoom = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        double wpm = args.length > 2 ? Double.parseDouble(args[2]) : 600;
+        int port = args.length > 3 ? Integer.parseInt(args[3]) : RaceServer.DEFAULT_PORT;
+
+        RaceLoadGenerator generator = new RaceLoadGenerator(racers, wpm, port);
+        ThreadFactory threads = ConnectionThreads.factory("racer");
+        CountDownLatch done = new CountDownLatch(racers);
+        String run = Long.toString(System.currentTimeMillis() % 100000);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < racers; i++) {
+            int racer = i;
+            String room = "load-" + run + "-" + (i / perRoom);
+            threads.newThread(() -> {
+                try {
+                    generator.race(racer, room, new Random(racer));
+                } catch (IOException | RuntimeException e) {
+                    generator.failures.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+        generator.report(racers, System.nanoTime() - start);
+    }
+
+    private void race(int index, String room, Random rand) throws IOException {
+        long[] latencies = new long[RaceRoom.SENTENCES * 4];
+        int count = 0;
+        double millisPerChar = 60_000 / (wpm * 5) * (0.7 + 0.6 * rand.nextDouble());
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            send(out, "JOIN " + room + " racer" + index + " EASY");
+
+            String line = read(in);
+            while (line != null) {
+                String reply = null;
+                if (line.startsWith("SENTENCE ")) {
+                    int space = line.indexOf(' ', 9);
+                    String number = line.substring(9, space);
+                    String sentence = line.substring(space + 1);
+
+                    // Type word by word, reporting progress after each one
+                    int typed = 0;
+                    while (typed < sentence.length()) {
+                        int next = sentence.indexOf(' ', typed + 1);
+                        next = next < 0 ? sentence.length() : next;
+                        sleep((long) ((next - typed) * millisPerChar));
+                        typed = next;
+                        send(out, "PROGRESS " + number + " " + typed);
+                        drain(in);
+                    }
+
+                    long sent = System.nanoTime();
+                    send(out, "SUBMIT " + number + " " + sentence);
+                    // Standings may arrive before the reply
+                    do {
+                        reply = read(in);
+                    } while (reply != null && reply.startsWith("STANDINGS"));
+                    if (count < latencies.length) {
+                        latencies[count++] = System.nanoTime() - sent;
+                    }
+                } else if (line.startsWith("RESULT")) {
+                    racesFinished.incrementAndGet();
+                    send(out, "QUIT");
+                    break;
+                } else if (line.startsWith("ERROR")) {
+                    failures.incrementAndGet();
+                    break;
+                }
+                // The reply to an answer (next sentence, DONE) is handled like any other line
+                line = reply != null ? reply : read(in);
+            }
+        } finally {
+            submitNanos[index] = Arrays.copyOf(latencies, count);
+        }
+    }
+
+    private void send(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+        messagesSent.increment();
+    }
+
+    private String read(BufferedReader in) throws IOException {
+        String line = in.readLine();
+        if (line != null) {
+            messagesReceived.increment();
+        }
+        return line;
+    }
+
+    // Reads whatever standings have already arrived so the socket buffer never fills up
+    private void drain(BufferedReader in) throws IOException {
+        while (in.ready()) {
+            read(in);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void report(int racers, long elapsedNanos) {
+        int total = 0;
+        for (long[] latencies : submitNanos) {
+            total += latencies == null ? 0 : latencies.length;
+        }
+        long[] all = new long[total];
+        int n = 0;
+        for (long[] latencies : submitNanos) {
+            if (latencies != null) {
+                System.arraycopy(latencies, 0, all, n, latencies.length);
+                n += latencies.length;
+            }
+        }
+        Arrays.sort(all);
+
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%d racers in %.1f s, %d races finished, %d failures%n",
+                racers, seconds, racesFinished.get(), failures.get());
+        System.out.printf("messages: %.0f sent/s, %.0f received/s%n",
+                messagesSent.sum() / seconds, messagesReceived.sum() / seconds);
+        System.out.printf("submit round trip over %d answers: p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                n, percentile(all, 50), percentile(all, 99), percentile(all, 99.9),
+                n == 0 ? 0 : all[n - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+}
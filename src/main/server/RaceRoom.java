@@ -0,0 +1,187 @@
+package main.server;
+
+import main.managers.Difficulty;
+import main.managers.EditDistance;
+import main.managers.GameEngine;
+import main.managers.GameScheduler;
+import main.managers.SentenceLoader;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// One race: every racer types the same sentences, drawn once before the room is created,
+// against one shared deadline. Racers join during a short lobby, then the race starts
+// for everyone at once. The room's clock ticks on the server's GameScheduler and sends
+// the standings to all racers in one batch per tick, and only when something changed.
+final class RaceRoom {
+    static final int SENTENCES = 5;
+    static final int MAX_RACERS = 64;
+    private static final long TICK_MILLIS = 100;
+
+    private static final int WAITING = 0, RUNNING = 1, FINISHED = 2;
+
+    private final String id;
+    private final String[] sentences;
+    private final long raceMillis;
+    private final RaceServer server;
+    private final GameScheduler clock;
+
+    private final List<Racer> racers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger seats = new AtomicInteger(); // Reserved before a racer is added
+    private final AtomicInteger state = new AtomicInteger(WAITING);
+    private final AtomicInteger finished = new AtomicInteger();
+    private final AtomicLong version = new AtomicLong(); // Bumped by every progress change
+    private long broadcastVersion = -1;                  // Clock thread only
+    private volatile long deadlineNanos;
+
+    RaceRoom(String id, Difficulty difficulty, String[] sentences, RaceServer server, GameScheduler clock) {
+        this.id = id;
+        this.server = server;
+        this.clock = clock;
+        this.raceMillis = TimeUnit.SECONDS.toMillis((long) difficulty.getInitialTime() * SENTENCES);
+        this.sentences = sentences;
+    }
+
+    // May wait for the difficulty's corpus to load, so call it before creating the room
+    static String[] drawSentences(Difficulty difficulty, long seed) {
+        SentenceLoader loader = new SentenceLoader(difficulty, seed);
+        String[] sentences = new String[SENTENCES];
+        for (int i = 0; i < SENTENCES; i++) {
+            sentences[i] = loader.getRandomSentence();
+        }
+        return sentences;
+    }
+
+    // Starts the lobby countdown; called once the room is listed on the server
+    void open(long lobbyMillis) {
+        clock.schedule(lobbyMillis, TimeUnit.MILLISECONDS, this::start);
+    }
+
+    String getId() {
+        return id;
+    }
+
+    // False once the race has started or the room is full
+    boolean join(Racer racer) {
+        int taken;
+        do {
+            taken = seats.get();
+            if (state.get() != WAITING || taken >= MAX_RACERS) {
+                return false;
+            }
+        } while (!seats.compareAndSet(taken, taken + 1));
+        racers.add(racer);
+        // The race may have started between the check and the add
+        if (state.get() != WAITING) {
+            leave(racer);
+            return false;
+        }
+        version.incrementAndGet();
+        return true;
+    }
+
+    void leave(Racer racer) {
+        if (racers.remove(racer)) {
+            seats.decrementAndGet();
+        }
+        version.incrementAndGet();
+    }
+
+    private void start() {
+        if (!state.compareAndSet(WAITING, RUNNING)) {
+            return;
+        }
+        if (racers.isEmpty()) {
+            finish();
+            return;
+        }
+        deadlineNanos = clock.nanoTime() + TimeUnit.MILLISECONDS.toNanos(raceMillis);
+        for (Racer racer : racers) {
+            racer.send("GO " + raceMillis);
+            racer.send("SENTENCE 0 " + sentences[0]);
+        }
+        clock.schedule(TICK_MILLIS, TimeUnit.MILLISECONDS, this::tick);
+    }
+
+    private void tick() {
+        if (state.get() != RUNNING) {
+            return;
+        }
+        if (clock.nanoTime() >= deadlineNanos || finished.get() >= racers.size()) {
+            finish();
+            return;
+        }
+        long current = version.get();
+        if (current != broadcastVersion) {
+            broadcastVersion = current;
+            String line = standings("STANDINGS");
+            for (Racer racer : racers) {
+                racer.sendStandings(line);
+            }
+        }
+        clock.schedule(TICK_MILLIS, TimeUnit.MILLISECONDS, this::tick);
+    }
+
+    private void finish() {
+        state.set(FINISHED);
+        String line = standings("RESULT");
+        for (Racer racer : racers) {
+            racer.send(line);
+        }
+        server.removeRoom(this);
+    }
+
+    // name:sentence:chars:place for every racer, separated by ';'
+    private String standings(String prefix) {
+        StringBuilder sb = new StringBuilder(prefix.length() + racers.size() * 24).append(prefix).append(' ');
+        boolean first = true;
+        for (Racer racer : racers) {
+            if (!first) {
+                sb.append(';');
+            }
+            first = false;
+            sb.append(racer.getName()).append(':').append(racer.getSentence()).append(':')
+                    .append(racer.getChars()).append(':').append(racer.getPlace());
+        }
+        return sb.toString();
+    }
+
+    void progress(Racer racer, int sentence, int chars) {
+        if (state.get() == RUNNING && sentence == racer.getSentence() && racer.getPlace() == 0) {
+            racer.setProgress(sentence, Math.max(0, Math.min(chars, sentences[sentence].length())));
+            version.incrementAndGet();
+        }
+    }
+
+    // Grades an answer with the game's pass threshold and replies to the racer
+    void submit(Racer racer, int sentence, String typed) {
+        if (state.get() != RUNNING || sentence != racer.getSentence() || racer.getPlace() != 0) {
+            racer.send("ERROR not racing sentence " + sentence);
+            return;
+        }
+        String target = sentences[sentence];
+        EditDistance grader = racer.grader;
+        grader.setPattern(target);
+        int longest = Math.max(target.length(), typed.length());
+        int maxErrors = (int) Math.floor((1 - GameEngine.PASS_ACCURACY) * longest);
+        int errors = grader.distance(typed, maxErrors);
+        if (errors > maxErrors) {
+            racer.send("RETRY " + sentence);
+            return;
+        }
+
+        int next = sentence + 1;
+        if (next == SENTENCES) {
+            racer.setProgress(next, 0);
+            racer.setPlace(finished.incrementAndGet());
+            racer.send("DONE " + racer.getPlace());
+        } else {
+            racer.setProgress(next, 0);
+            racer.send("SENTENCE " + next + " " + sentences[next]);
+        }
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,156 @@
+package main.server;
+
+import main.managers.CorpusCache;
+import main.managers.Difficulty;
+import main.managers.GameScheduler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Typing races over local TCP. Each connection gets its own reader thread (virtual when
+// the JVM supports it) and a writer thread; rooms are created on first join.
+//
+// Line protocol, client to server:
+//   JOIN <room> <name> [EASY|MEDIUM|HARD]
+//   PROGRESS <sentence> <correct chars>
+//   SUBMIT <sentence> <typed text>
+//   QUIT
+// Server to client:
+//   JOINED <room> | GO <race millis> | SENTENCE <index> <text> | RETRY <index> | DONE <place>
+//   STANDINGS <name:sentence:chars:place;...> | RESULT <same as standings> | ERROR <message>
+//
+// Usage: java main.server.RaceServer [port] [lobby millis]
+public class RaceServer {
+    public static final int DEFAULT_PORT = 5555;
+
+    private final int port;
+    private final long lobbyMillis;
+    private final ThreadFactory threads = ConnectionThreads.factory("race-connection");
+    private final GameScheduler clock = new GameScheduler();
+    private final ConcurrentHashMap<String, RaceRoom> rooms = new ConcurrentHashMap<>();
+    private final AtomicLong seeds = new AtomicLong(System.nanoTime());
+    private volatile ServerSocket serverSocket;
+
+    public RaceServer(int port, long lobbyMillis) {
+        this.port = port;
+        this.lobbyMillis = lobbyMillis;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        long lobby = args.length > 1 ? Long.parseLong(args[1]) : 3000;
+        new RaceServer(port, lobby).run();
+    }
+
+    public void run() throws IOException {
+        CorpusCache.warmAll();
+        try (ServerSocket server = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress())) {
+            serverSocket = server;
+            System.out.println("Race server on port " + server.getLocalPort()
+                    + (ConnectionThreads.isVirtual(threads) ? " (virtual threads)" : " (platform threads)"));
+            while (!server.isClosed()) {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                threads.newThread(() -> serve(socket)).start();
+            }
+        } catch (IOException e) {
+            if (serverSocket == null || !serverSocket.isClosed()) {
+                throw e;
+            }
+        }
+    }
+
+    public void stop() throws IOException {
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        clock.shutdown();
+    }
+
+    void removeRoom(RaceRoom room) {
+        rooms.remove(room.getId(), room);
+    }
+
+    private void serve(Socket socket) {
+        Racer racer = null;
+        RaceRoom room = null;
+        try {
+            // Not closed here: closing the stream would close the socket under the writer thread
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String line = in.readLine();
+            String[] join = line == null ? new String[0] : line.split(" ");
+            if (join.length < 3 || !join[0].equals("JOIN")) {
+                socket.close();
+                return;
+            }
+            // Names end up in ':' and ';' separated standings
+            String name = join[2].replaceAll("[:;]", "_");
+            Difficulty difficulty = join.length > 3 ? Difficulty.valueOf(join[3]) : Difficulty.MEDIUM;
+            racer = new Racer(name, socket, threads);
+
+            while (true) {
+                room = rooms.get(join[1]);
+                if (room == null) {
+                    // Built outside the map, since drawing the sentences may wait for the corpus;
+                    // only the room that gets listed starts its lobby
+                    RaceRoom created = new RaceRoom(join[1], difficulty,
+                            RaceRoom.drawSentences(difficulty, seeds.incrementAndGet()), this, clock);
+                    room = rooms.putIfAbsent(join[1], created);
+                    if (room == null) {
+                        room = created;
+                        created.open(lobbyMillis);
+                    }
+                }
+                if (room.join(racer)) {
+                    break;
+                }
+                // Started or full: a finished room is removed, so only wait if it's still listed
+                if (rooms.get(join[1]) == room) {
+                    racer.send("ERROR room " + join[1] + " is racing or full");
+                    room = null;
+                    return;
+                }
+            }
+            racer.send("JOINED " + room.getId());
+
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("PROGRESS ")) {
+                    int space = line.indexOf(' ', 9);
+                    room.progress(racer, Integer.parseInt(line.substring(9, space)),
+                            Integer.parseInt(line.substring(space + 1)));
+                } else if (line.startsWith("SUBMIT ")) {
+                    int space = line.indexOf(' ', 7);
+                    String typed = space < 0 ? "" : line.substring(space + 1);
+                    room.submit(racer, Integer.parseInt(space < 0 ? line.substring(7) : line.substring(7, space)), typed.trim());
+                } else if (line.equals("QUIT")) {
+                    break;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            if (racer != null) {
+                racer.send("ERROR " + e.getMessage());
+            }
+        } finally {
+            if (room != null) {
+                room.leave(racer);
+            }
+            if (racer != null) {
+                racer.close();
+            } else {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    // Already closed
+                }
+            }
+        }
+    }
+}
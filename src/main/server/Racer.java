@@ -0,0 +1,125 @@
+package main.server;
+
+import main.managers.EditDistance;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+// One connected player. Progress is a single packed long so the room reads every racer
+// without locking. All output goes through one writer thread: replies are queued in
+// order, while standings only keep the newest line, so a slow client skips stale ones
+// instead of holding up the room.
+final class Racer {
+    private final String name;
+    private final Socket socket;
+    private final Writer out;
+    private final Queue<String> replies = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<String> standings = new AtomicReference<>();
+    private final Thread writer;
+    private volatile boolean open = true;
+
+    // Sentence index in the high half, correctly typed characters in the low half
+    private final AtomicLong progress = new AtomicLong();
+    private volatile int place; // 0 until finished
+
+    // Used only by the connection's reader thread
+    final EditDistance grader = new EditDistance();
+
+    Racer(String name, Socket socket, ThreadFactory threads) throws IOException {
+        this.name = name;
+        this.socket = socket;
+        this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+        this.writer = threads.newThread(this::writeLoop);
+        this.writer.start();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getSentence() {
+        return (int) (progress.get() >>> 32);
+    }
+
+    int getChars() {
+        return (int) progress.get();
+    }
+
+    void setProgress(int sentence, int chars) {
+        progress.set(((long) sentence << 32) | (chars & 0xFFFFFFFFL));
+    }
+
+    int getPlace() {
+        return place;
+    }
+
+    void setPlace(int place) {
+        this.place = place;
+    }
+
+    void send(String line) {
+        replies.add(line);
+        LockSupport.unpark(writer);
+    }
+
+    // Replaces any standings line that hasn't been written yet
+    void sendStandings(String line) {
+        standings.set(line);
+        LockSupport.unpark(writer);
+    }
+
+    // Queued replies are still written before the socket closes
+    void close() {
+        open = false;
+        LockSupport.unpark(writer);
+    }
+
+    private void writeLoop() {
+        try {
+            while (open) {
+                boolean wrote = false;
+                String line;
+                while ((line = replies.poll()) != null) {
+                    out.write(line);
+                    out.write('\n');
+                    wrote = true;
+                }
+                line = standings.getAndSet(null);
+                if (line != null) {
+                    out.write(line);
+                    out.write('\n');
+                    wrote = true;
+                }
+                if (wrote) {
+                    out.flush();
+                } else if (replies.isEmpty() && standings.get() == null) {
+                    LockSupport.park(this);
+                }
+            }
+            String line;
+            while ((line = replies.poll()) != null) {
+                out.write(line);
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            open = false;
+        } finally {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already gone
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package main.utils;
+
+import main.metrics.Counter;
+import main.metrics.Metrics;
+import main.metrics.RollingHistogram;
+
+import java.awt.*;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+// Optional watchdog for the Event Dispatch Thread. An EventQueue pushed on top of the
+// system queue times every event it dispatches into a rolling one-minute histogram.
+// A daemon thread checks the task in progress ten times per threshold; once it has run
+// past the threshold, the EDT's stack is captured while it is still stuck, and the stall
+// is logged with its duration after the task finishes. Logging happens on the watchdog
+// thread so the EDT never waits on System.err.
+//
+// Enabled with -Dedt.watchdog=true; -Dedt.watchdog.threshold sets the stall threshold in
+// milliseconds (default 100). Latencies are in the "edt.task.nanos" metric.
+public final class EdtWatchdog extends EventQueue {
+    private static final int WINDOW_SECONDS = 60;
+    private static final RollingHistogram LATENCIES = Metrics.rollingHistogram("edt.task.nanos", WINDOW_SECONDS);
+    private static final Counter STALLS = Metrics.counter("edt.stalls");
+    private static EdtWatchdog installed;
+
+    private volatile long thresholdNanos;
+
+    // Written on the EDT, read by the watchdog thread
+    private volatile long segmentStart; // 0 while the EDT is idle
+    private volatile long segmentId;
+    private volatile Thread edt;
+
+    // Written by the watchdog thread
+    private volatile long capturedId = -1;
+    private volatile StackTraceElement[] capturedStack;
+
+    // EDT only
+    private int depth;
+    private long dispatchCount;
+
+    private final Queue<String> reports = new ConcurrentLinkedQueue<>();
+
+    private EdtWatchdog(long thresholdMillis) {
+        setThresholdMillis(thresholdMillis);
+    }
+
+    public static synchronized void installFromProperties() {
+        if (Boolean.getBoolean("edt.watchdog")) {
+            install(Long.getLong("edt.watchdog.threshold", 100));
+        }
+    }
+
+    public static synchronized EdtWatchdog install(long thresholdMillis) {
+        if (installed == null) {
+            installed = new EdtWatchdog(thresholdMillis);
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(installed);
+            Thread thread = new Thread(installed::watch, "edt-watchdog");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return installed;
+    }
+
+    // The installed watchdog, or null if it isn't running
+    public static synchronized EdtWatchdog get() {
+        return installed;
+    }
+
+    // EDT task durations over the last minute, in nanoseconds
+    public static RollingHistogram latencies() {
+        return LATENCIES;
+    }
+
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    public void setThresholdMillis(long thresholdMillis) {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, thresholdMillis));
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        long start = System.nanoTime();
+        long before = dispatchCount++;
+        depth++;
+        edt = Thread.currentThread();
+        segmentId++;
+        segmentStart = start;
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            depth--;
+            long end = System.nanoTime();
+            long id = segmentId;
+            // An event that ran a nested loop (a modal dialog) is as long as the dialog was open,
+            // so only the events dispatched inside it are timed
+            if (dispatchCount == before + 1) {
+                long duration = end - start;
+                LATENCIES.record(duration);
+                if (duration >= thresholdNanos) {
+                    STALLS.increment();
+                    reports.add(describe(event, duration, capturedId == id ? capturedStack : null));
+                }
+            }
+            if (depth > 0) {
+                // Back in the outer event; what it does from here is a new segment
+                segmentId++;
+                segmentStart = end;
+            } else {
+                segmentStart = 0;
+            }
+        }
+    }
+
+    private void watch() {
+        while (true) {
+            long threshold = thresholdNanos;
+            try {
+                Thread.sleep(Math.max(1, TimeUnit.NANOSECONDS.toMillis(threshold) / 10));
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            long id = segmentId;
+            long start = segmentStart;
+            Thread thread = edt;
+            if (start != 0 && thread != null && id != capturedId && System.nanoTime() - start >= threshold) {
+                StackTraceElement[] stack = thread.getStackTrace();
+                // Only keep it if the EDT is still in the same task
+                if (segmentId == id) {
+                    capturedStack = stack;
+                    capturedId = id;
+                }
+            }
+
+            String report;
+            while ((report = reports.poll()) != null) {
+                System.err.print(report);
+            }
+        }
+    }
+
+    private static String describe(AWTEvent event, long durationNanos, StackTraceElement[] stack) {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append(String.format("EDT stalled for %.1f ms in %s%n", durationNanos / 1e6, eventName(event)));
+        if (stack == null) {
+            sb.append(String.format("    (finished before its stack could be captured)%n"));
+        } else {
+            for (StackTraceElement frame : stack) {
+                sb.append(String.format("    at %s%n", frame));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String eventName(AWTEvent event) {
+        String name = event.getClass().getSimpleName();
+        Object source = event.getSource();
+        return source == null ? name : name + " on " + source.getClass().getSimpleName();
+    }
+}
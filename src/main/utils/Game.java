@@ -1,8 +1,18 @@
 package main.utils;
+import main.managers.CorpusWatcher;
+import main.metrics.MetricsReporter;
+import main.server.LeaderboardServer;
+
 import javax.swing.*;
 
 public class Game {
     public static void main(String[] args) {
+        // Pick up edits to the sentence files while games are running
+        CorpusWatcher.start();
+        LeaderboardServer.startFromProperties();
+        MetricsReporter.startFromProperties();
+        EdtWatchdog.installFromProperties();
+
         SwingUtilities.invokeLater(() -> {
             new StartMenu();
         });
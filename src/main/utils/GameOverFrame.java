@@ -12,23 +12,41 @@ public class GameOverFrame extends JFrame {
     private Player player;
     private Difficulty difficulty;
     private HighScoreManager hsm;
+    private KeystrokeStats keystrokeStats;
+    private JLabel rankLabel;
+    private JLabel newHighScoreLabel;
+    private JPanel highScoresPanel;
 
     public GameOverFrame(Player player, Difficulty difficulty) {
+        this(player, difficulty, null);
+    }
+
+    public GameOverFrame(Player player, Difficulty difficulty, KeystrokeStats keystrokeStats) {
         this.player = player;
         this.difficulty = difficulty;
+        this.keystrokeStats = keystrokeStats;
         this.hsm = new HighScoreManager();
         
-        // Save the score
-        hsm.saveScore(player.getName(), player.getScore());
-        
         initializeComponents();
         setupLayout();
         setVisible(true);
+
+        // Save the score off the EDT; rank, high score flag and top 10 are filled in when it lands
+        hsm.recordResultAsync(player.getName(), player.getScore(), 10)
+                .whenComplete((snapshot, error) -> SwingUtilities.invokeLater(() -> {
+                    if (error != null) {
+                        System.err.println("Error saving scores: " + error.getMessage());
+                        rankLabel.setText("-");
+                        showHighScoresMessage("High scores unavailable");
+                    } else {
+                        showLeaderboard(snapshot);
+                    }
+                }));
     }
 
     private void initializeComponents() {
         setTitle("Game Over");
-        setSize(500, 400);
+        setSize(500, hasKeystrokeStats() ? 500 : 400);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
     }
@@ -47,7 +65,7 @@ public class GameOverFrame extends JFrame {
         JPanel playerStatsPanel = createPlayerStatsPanel();
 
         // High scores panel
-        JPanel highScoresPanel = createHighScoresPanel();
+        highScoresPanel = createHighScoresPanel();
 
         // Button panel
         JPanel buttonPanel = new JPanel();
@@ -116,10 +134,92 @@ public class GameOverFrame extends JFrame {
         gbc.gridx = 0; gbc.gridy = 4;
         panel.add(new JLabel("Your Rank:"), gbc);
         gbc.gridx = 1;
-        int rank = hsm.getPlayerRank(player.getName(), player.getScore());
-        JLabel rankLabel = new JLabel("#" + rank);
+        rankLabel = new JLabel("...");
         rankLabel.setFont(new Font("Arial", Font.BOLD, 12));
-        
+        panel.add(rankLabel, gbc);
+
+        // Typing analysis from the keystroke recorder
+        int row = 5;
+        if (hasKeystrokeStats()) {
+            gbc.gridx = 0; gbc.gridy = row;
+            panel.add(new JLabel("Key Latency:"), gbc);
+            gbc.gridx = 1;
+            panel.add(new JLabel("avg " + keystrokeStats.getAverageLatencyMs() + " ms, median "
+                    + keystrokeStats.getMedianLatencyMs() + " ms"), gbc);
+
+            gbc.gridx = 0; gbc.gridy = ++row;
+            panel.add(new JLabel("Latency Histogram:"), gbc);
+            gbc.gridx = 1;
+            JLabel histogramLabel = new JLabel(formatLatencyHistogram());
+            histogramLabel.setFont(new Font("Arial", Font.PLAIN, 11));
+            panel.add(histogramLabel, gbc);
+
+            gbc.gridx = 0; gbc.gridy = ++row;
+            panel.add(new JLabel("Slowest Bigrams:"), gbc);
+            gbc.gridx = 1;
+            panel.add(new JLabel(formatSlowestBigrams()), gbc);
+            row++;
+        }
+
+        // High score indicator, shown once the save confirms it
+        gbc.gridx = 0; gbc.gridy = row; gbc.gridwidth = 2;
+        newHighScoreLabel = new JLabel("🎉 NEW HIGH SCORE! 🎉");
+        newHighScoreLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        newHighScoreLabel.setForeground(Color.RED);
+        newHighScoreLabel.setHorizontalAlignment(JLabel.CENTER);
+        newHighScoreLabel.setVisible(false);
+        panel.add(newHighScoreLabel, gbc);
+
+        return panel;
+    }
+
+    private boolean hasKeystrokeStats() {
+        return keystrokeStats != null && keystrokeStats.getKeystrokes() > 1;
+    }
+
+    private String formatLatencyHistogram() {
+        long total = 0;
+        for (int i = 0; i < keystrokeStats.getBucketCount(); i++) {
+            total += keystrokeStats.getBucketSamples(i);
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < keystrokeStats.getBucketCount(); i++) {
+            long percent = total == 0 ? 0 : Math.round(100.0 * keystrokeStats.getBucketSamples(i) / total);
+            if (i > 0) {
+                text.append("  ");
+            }
+            text.append(keystrokeStats.getBucketLabel(i)).append(": ").append(percent).append('%');
+        }
+        return text.toString();
+    }
+
+    private String formatSlowestBigrams() {
+        if (keystrokeStats.getSlowestBigrams().isEmpty()) {
+            return "-";
+        }
+        StringBuilder text = new StringBuilder();
+        for (KeystrokeStats.Bigram bigram : keystrokeStats.getSlowestBigrams()) {
+            if (text.length() > 0) {
+                text.append(", ");
+            }
+            text.append('"').append(bigram.getChars()).append("\" ").append(bigram.getAverageMs()).append(" ms");
+        }
+        return text.toString();
+    }
+
+    private JPanel createHighScoresPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder("High Scores"));
+        JLabel loadingLabel = new JLabel("Loading high scores...");
+        loadingLabel.setHorizontalAlignment(JLabel.CENTER);
+        panel.add(loadingLabel, BorderLayout.CENTER);
+        return panel;
+    }
+
+    private void showLeaderboard(LeaderboardSnapshot snapshot) {
+        int rank = snapshot.getRank();
+        rankLabel.setText("#" + rank);
+
         // Color code the rank
         if (rank == 1) {
             rankLabel.setForeground(Color.RED);
@@ -128,28 +228,25 @@ public class GameOverFrame extends JFrame {
         } else if (rank <= 5) {
             rankLabel.setForeground(Color.BLUE);
         }
-        panel.add(rankLabel, gbc);
-
-        // High score indicator
-        if (hsm.isNewHighScore(player.getName(), player.getScore())) {
-            gbc.gridx = 0; gbc.gridy = 5; gbc.gridwidth = 2;
-            JLabel newHighScoreLabel = new JLabel("🎉 NEW HIGH SCORE! 🎉");
-            newHighScoreLabel.setFont(new Font("Arial", Font.BOLD, 14));
-            newHighScoreLabel.setForeground(Color.RED);
-            newHighScoreLabel.setHorizontalAlignment(JLabel.CENTER);
-            panel.add(newHighScoreLabel, gbc);
-        }
+        newHighScoreLabel.setVisible(snapshot.isNewHighScore());
 
-        return panel;
+        highScoresPanel.removeAll();
+        highScoresPanel.add(createHighScoresTable(snapshot.getTopScores()), BorderLayout.CENTER);
+        highScoresPanel.revalidate();
+        highScoresPanel.repaint();
     }
 
-    private JPanel createHighScoresPanel() {
-        JPanel panel = new JPanel(new BorderLayout());
-        panel.setBorder(BorderFactory.createTitledBorder("High Scores"));
+    private void showHighScoresMessage(String message) {
+        highScoresPanel.removeAll();
+        JLabel messageLabel = new JLabel(message);
+        messageLabel.setHorizontalAlignment(JLabel.CENTER);
+        highScoresPanel.add(messageLabel, BorderLayout.CENTER);
+        highScoresPanel.revalidate();
+        highScoresPanel.repaint();
+    }
 
+    private JScrollPane createHighScoresTable(List<Map.Entry<String, Integer>> topScores) {
         // Create table data
-        List<Map.Entry<String, Integer>> topScores = hsm.getTopScores(10);
-        
         String[] columnNames = {"Rank", "Player", "Score"};
         Object[][] data = new Object[Math.min(10, topScores.size())][3];
         
@@ -191,8 +288,6 @@ public class GameOverFrame extends JFrame {
 
         JScrollPane scrollPane = new JScrollPane(table);
         scrollPane.setPreferredSize(new Dimension(300, 200));
-        panel.add(scrollPane, BorderLayout.CENTER);
-
-        return panel;
+        return scrollPane;
     }
 }
\ No newline at end of file
@@ -1,32 +1,74 @@
 package main.utils;
+import main.jfr.AnswerCheckEvent;
 import main.managers.*;
+import main.metrics.Counter;
+import main.metrics.Meter;
+import main.metrics.Metrics;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Segment;
 import java.awt.*;
 import java.awt.event.*;
 
+// Swing view over a GameEngine: forwards input and time to the engine and shows its state
 public class GamePanel extends JFrame implements TimerManager.TimerCallback {
+    private static final Counter ROUNDS = Metrics.counter("game.rounds");
+    private static final Counter LIVES_LOST = Metrics.counter("game.lives.lost");
+    private static final Meter ANSWERS = Metrics.meter("game.answers");
+
+    // The pending-task gauge is registered once and follows whichever game is running
+    private static volatile GameScheduler currentScheduler;
+
+    static {
+        Metrics.gauge("game.scheduler.pending", () -> {
+            GameScheduler running = currentScheduler;
+            return running == null ? 0 : running.getPendingCount();
+        });
+    }
+
     private Player player;
-    private SentenceLoader loader;
+    private GameEngine engine;
     private TimerManager timerManager;
     private Difficulty difficulty;
+
+    // Game clock shared by the countdown and every delayed UI action of this game
+    private final GameScheduler scheduler = new GameScheduler();
+    private GameScheduler.Task clearFeedbackTask;
     
     // UI Components
-    private JLabel roundLabel, scoreLabel, livesLabel, timerLabel;
-    private JLabel sentenceLabel;
+    private JLabel roundLabel, scoreLabel, livesLabel, timerLabel, wpmLabel;
+    private SentenceView sentenceView;
     private JTextField inputField;
     private JLabel feedbackLabel;
     private JPanel statsPanel;
     
-    private String currentSentence;
     private boolean gameActive;
 
+    // Reused for every edit so typing allocates no strings
+    private final Segment typedSegment = new Segment();
+
+    // The stats labels are driven by published snapshots, applied at most once per frame
+    private HudUpdater hud;
+    private GameState hudState;
+
+    // Per-keystroke timing for the post-game analysis
+    private KeystrokeRecorder keystrokes = new KeystrokeRecorder();
+
     public GamePanel(Player player, Difficulty difficulty) {
+        this(player, difficulty, new SentenceLoader(difficulty));
+    }
+
+    // Plays the given sentences with the difficulty's timing, e.g. for a scripted session
+    public GamePanel(Player player, Difficulty difficulty, SentenceLoader loader) {
         this.player = player;
         this.difficulty = difficulty;
-        this.loader = new SentenceLoader(difficulty.getSentenceFile());
-        this.timerManager = new TimerManager(difficulty.getInitialTime(), this);
+        this.timerManager = new TimerManager(difficulty.getInitialTime(), this, scheduler);
+        this.engine = new GameEngine(player, difficulty, loader, timerManager);
         this.gameActive = true;
+        currentScheduler = scheduler;
 
         initializeComponents();
         setupLayout();
@@ -47,12 +89,11 @@ public class GamePanel extends JFrame implements TimerManager.TimerCallback {
         scoreLabel = new JLabel("Score: " + player.getScore());
         livesLabel = new JLabel("Lives: " + player.getLives());
         timerLabel = new JLabel("Time: " + difficulty.getInitialTime());
+        wpmLabel = new JLabel("WPM: 0");
 
         // Game components
-        sentenceLabel = new JLabel();
-        sentenceLabel.setFont(new Font("Arial", Font.PLAIN, 16));
-        sentenceLabel.setHorizontalAlignment(JLabel.CENTER);
-        sentenceLabel.setBorder(BorderFactory.createTitledBorder("Type this sentence:"));
+        sentenceView = new SentenceView(new Font("Arial", Font.PLAIN, 16));
+        sentenceView.setBorder(BorderFactory.createTitledBorder("Type this sentence:"));
 
         inputField = new JTextField();
         inputField.setFont(new Font("Arial", Font.PLAIN, 14));
@@ -63,33 +104,36 @@ public class GamePanel extends JFrame implements TimerManager.TimerCallback {
         feedbackLabel.setHorizontalAlignment(JLabel.CENTER);
         feedbackLabel.setBorder(BorderFactory.createTitledBorder("Feedback:"));
 
-        // Style the timer based on time remaining
-        updateTimerDisplay();
+        hud = new HudUpdater(roundLabel, scoreLabel, livesLabel, timerLabel, wpmLabel, inputField, scheduler);
+        hudState = GameState.initial(player, timerManager.getTimeRemaining());
+        hud.publish(hudState);
+        hud.flush();
     }
 
     private void setupLayout() {
         setLayout(new BorderLayout());
 
         // Stats panel (top)
-        statsPanel = new JPanel(new GridLayout(1, 4, 10, 5));
+        statsPanel = new JPanel(new GridLayout(1, 5, 10, 5));
         statsPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         statsPanel.add(roundLabel);
         statsPanel.add(scoreLabel);
         statsPanel.add(livesLabel);
         statsPanel.add(timerLabel);
+        statsPanel.add(wpmLabel);
 
         // Game panel (center)
         JPanel gamePanel = new JPanel(new BorderLayout(10, 10));
         gamePanel.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
         
-        gamePanel.add(sentenceLabel, BorderLayout.NORTH);
+        gamePanel.add(sentenceView, BorderLayout.NORTH);
         gamePanel.add(inputField, BorderLayout.CENTER);
         gamePanel.add(feedbackLabel, BorderLayout.SOUTH);
 
         // Instructions panel (bottom)
         JLabel instructionsLabel = new JLabel(
             "<html><center>Press ENTER to submit your answer<br>" +
-            "Every correct answer: +10 points and +5 seconds</center></html>"
+            "Every correct answer: +10 points (more for fast, accurate typing) and +5 seconds</center></html>"
         );
         instructionsLabel.setHorizontalAlignment(JLabel.CENTER);
         instructionsLabel.setBorder(BorderFactory.createEmptyBorder(5, 0, 10, 0));
@@ -106,6 +150,46 @@ public class GamePanel extends JFrame implements TimerManager.TimerCallback {
             }
         });
 
+        // Capture each typed character; the recorder is preallocated, so this never allocates
+        inputField.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyTyped(KeyEvent e) {
+                char c = e.getKeyChar();
+                if (!gameActive || c < ' ' || c == KeyEvent.CHAR_UNDEFINED || c == 127) {
+                    return;
+                }
+                String sentence = engine.getCurrentSentence();
+                int position = inputField.getCaretPosition();
+                boolean correct = position < sentence.length() && sentence.charAt(position) == c;
+                keystrokes.record(System.nanoTime(), c, correct);
+            }
+        });
+
+        // Match every edit as it happens
+        inputField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                try {
+                    e.getDocument().getText(e.getOffset(), e.getLength(), typedSegment);
+                    engine.insert(e.getOffset(), typedSegment, System.nanoTime());
+                } catch (BadLocationException ex) {
+                    return;
+                }
+                updateDisplays();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                engine.remove(e.getOffset(), e.getLength());
+                updateDisplays();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Attribute changes don't affect the text
+            }
+        });
+
         // Focus on input field when window opens
         addWindowListener(new WindowAdapter() {
             @Override
@@ -116,119 +200,129 @@ public class GamePanel extends JFrame implements TimerManager.TimerCallback {
     }
 
     private void loadNewSentence() {
-        currentSentence = loader.getRandomSentence();
-        sentenceLabel.setText("<html><center>" + currentSentence + "</center></html>");
+        // The old input is cleared against the old sentence before the engine moves on
         inputField.setText("");
+        sentenceView.setSentence(engine.nextSentence());
+        updateDisplays();
         inputField.requestFocus();
+
+        // Lay out the sentence after this one in the background so switching is instant
+        sentenceView.prepare(engine.peekNextSentence());
         
-        // Clear previous feedback after a short delay
-        Timer clearFeedback = new Timer(3000, e -> {
+        // Clear previous feedback after a short delay; only the latest sentence's clear is kept
+        if (clearFeedbackTask != null) {
+            clearFeedbackTask.cancel();
+        }
+        clearFeedbackTask = scheduler.scheduleOnEdt(3000, () -> {
             if (feedbackLabel.getText().contains("Correct") || 
-                feedbackLabel.getText().contains("Wrong")) {
+                feedbackLabel.getText().contains("Wrong") ||
+                feedbackLabel.getText().contains("Almost")) {
                 feedbackLabel.setText(" ");
             }
         });
-        clearFeedback.setRepeats(false);
-        clearFeedback.start();
     }
 
     private void checkInput() {
         if (!gameActive) return;
 
+        AnswerCheckEvent event = new AnswerCheckEvent();
+        event.begin();
         String typed = inputField.getText().trim();
-        
-        if (typed.equals(currentSentence)) {
-            // Correct answer
-            player.addScore(10);
-            player.nextRound();
-            timerManager.addTime(5);
-            
-            // Show positive feedback
-            feedbackLabel.setText("Correct! +10 points and +5 seconds!");
-            feedbackLabel.setForeground(Color.GREEN);
-            
-            // Update displays
-            updateDisplays();
-            
-            // Check for speed increase every 5 rounds
-            if ((player.getRound() - 1) % 5 == 0 && player.getRound() > 1) {
-                timerManager.adjustSpeedForRound(player.getRound());
-            
+        String sentence = engine.getCurrentSentence();
+        AnswerResult result = engine.submit(typed, System.nanoTime());
+        int errors = result.getErrors();
+        ANSWERS.mark();
+        if (event.shouldCommit()) {
+            event.outcome = result.getOutcome().name();
+            event.errors = errors;
+            event.points = result.getPoints();
+            event.typedLength = typed.length();
+            event.sentenceLength = sentence.length();
+            event.round = player.getRound();
+            event.lives = player.getLives();
+            event.gameOver = result.isGameOver();
+            event.commit();
+        }
+
+        if (result.isPassed()) {
+            if (errors == 0) {
+                feedbackLabel.setText("Correct! +" + result.getPoints() + " points and +5 seconds!");
+            } else {
+                feedbackLabel.setText("Correct with " + errors + (errors == 1 ? " typo" : " typos")
+                        + "! +" + result.getPoints() + " points and +5 seconds!");
             }
-            
+            feedbackLabel.setForeground(Color.GREEN);
+            ROUNDS.increment();
             loadNewSentence();
-            
+
+        } else if (result.getOutcome() == AnswerResult.Outcome.ALMOST) {
+            // Near miss: no points, but no life lost either
+            feedbackLabel.setText("Almost! " + errors + " typos. Try again!");
+            feedbackLabel.setForeground(Color.ORANGE);
+
+            inputField.setText("");
+            inputField.requestFocus();
+
         } else {
-            // Wrong answer
-            player.loseLife();
             feedbackLabel.setText("Wrong! Life lost. Try again!");
             feedbackLabel.setForeground(Color.RED);
+            LIVES_LOST.increment();
             
             // Clear input field and refocus
             inputField.setText("");
             inputField.requestFocus();
             
             updateDisplays();
-            
-            // Check if game should end
-            if (!player.isAlive()) {
+
+            if (result.isGameOver()) {
                 endGame();
             }
         }
     }
 
     private void updateDisplays() {
-        roundLabel.setText("Round: " + player.getRound());
-        scoreLabel.setText("Score: " + player.getScore());
-        livesLabel.setText("Lives: " + player.getLives());
-        
-        // Update lives label color
-        if (player.getLives() <= 1) {
-            livesLabel.setForeground(Color.RED);
-        } else if (player.getLives() <= 2) {
-            livesLabel.setForeground(Color.ORANGE);
-        } else {
-            livesLabel.setForeground(Color.BLACK);
-        }
+        TypingMatcher matcher = engine.getMatcher();
+        sentenceView.setProgress(matcher.getMatchedLength(), matcher.getTypedLength());
+        publish(engine.updateState(hudState, System.nanoTime()));
     }
 
-    private void updateTimerDisplay() {
-        int time = timerManager.getTimeRemaining();
-        timerLabel.setText("Time: " + time);
-        
-        // Color coding for timer
-        if (time <= 5) {
-            timerLabel.setForeground(Color.RED);
-        } else if (time <= 10) {
-            timerLabel.setForeground(Color.ORANGE);
-        } else {
-            timerLabel.setForeground(Color.BLACK);
+    private void publish(GameState state) {
+        if (state != hudState) {
+            hudState = state;
+            hud.publish(state);
         }
     }
 
-    // TimerManager.TimerCallback implementation
+    // TimerManager.TimerCallback implementation; TimerManager already calls these on the EDT
     @Override
     public void onTimeUpdate(int timeRemaining) {
-        SwingUtilities.invokeLater(() -> updateTimerDisplay());
+        updateDisplays(); // Live WPM also drops while the player pauses
     }
 
     @Override
     public void onTimeUp() {
-        SwingUtilities.invokeLater(() -> {
-            gameActive = false;
-            feedbackLabel.setText("Time's up! Game Over!");
-            feedbackLabel.setForeground(Color.RED);
-            
-            Timer delay = new Timer(2000, e -> endGame());
-            delay.setRepeats(false);
-            delay.start();
-        });
+        engine.timeUp();
+        gameActive = false;
+        feedbackLabel.setText("Time's up! Game Over!");
+        feedbackLabel.setForeground(Color.RED);
+
+        scheduler.scheduleOnEdt(2000, this::endGame);
     }
 
     private void endGame() {
+        new GameOverFrame(player, difficulty, keystrokes.analyze());
+        dispose();
+    }
+
+    // However the window goes away, the countdown and this game's scheduler stop with it
+    @Override
+    public void dispose() {
         gameActive = false;
         timerManager.stop();
-        new GameOverFrame(player, difficulty);
-        dispose();
+        scheduler.shutdown();
+        if (currentScheduler == scheduler) {
+            currentScheduler = null;
+        }
+        super.dispose();
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package main.utils;
+import main.managers.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Applies published GameState snapshots to the HUD at most once per frame. Any thread
+// may publish; only the newest snapshot is kept, and when the frame runs on the EDT each
+// component is touched only if the value it shows has changed since the last frame.
+public class HudUpdater {
+    private static final long FRAME_NANOS = 16_000_000L; // ~60 updates per second
+
+    private final JLabel roundLabel, scoreLabel, livesLabel, timerLabel, wpmLabel;
+    private final JTextField inputField;
+    private final GameScheduler scheduler;
+
+    private final AtomicReference<GameState> latest = new AtomicReference<>();
+    private final AtomicBoolean framePending = new AtomicBoolean();
+    private volatile long lastFrameNanos;
+    private GameState applied; // EDT only
+
+    public HudUpdater(JLabel roundLabel, JLabel scoreLabel, JLabel livesLabel, JLabel timerLabel,
+                      JLabel wpmLabel, JTextField inputField, GameScheduler scheduler) {
+        this.roundLabel = roundLabel;
+        this.scoreLabel = scoreLabel;
+        this.livesLabel = livesLabel;
+        this.timerLabel = timerLabel;
+        this.wpmLabel = wpmLabel;
+        this.inputField = inputField;
+        this.scheduler = scheduler;
+    }
+
+    public void publish(GameState state) {
+        if (latest.getAndSet(state) == state) {
+            return;
+        }
+        if (framePending.compareAndSet(false, true)) {
+            long wait = lastFrameNanos + FRAME_NANOS - System.nanoTime();
+            if (wait <= 0) {
+                SwingUtilities.invokeLater(this::applyFrame);
+            } else {
+                scheduler.scheduleOnEdt(wait / 1_000_000L + 1, this::applyFrame);
+            }
+        }
+    }
+
+    // Applies the newest state right away; for use on the EDT when the HUD must be current
+    public void flush() {
+        applyFrame();
+    }
+
+    private void applyFrame() {
+        framePending.set(false);
+        GameState state = latest.get();
+        if (state == null || state == applied) {
+            return;
+        }
+        lastFrameNanos = System.nanoTime();
+        GameState old = applied;
+        applied = state;
+
+        if (old == null || old.getRound() != state.getRound()) {
+            roundLabel.setText("Round: " + state.getRound());
+        }
+        if (old == null || old.getScore() != state.getScore()) {
+            scoreLabel.setText("Score: " + state.getScore());
+        }
+        if (old == null || old.getLives() != state.getLives()) {
+            livesLabel.setText("Lives: " + state.getLives());
+            livesLabel.setForeground(livesColor(state.getLives()));
+        }
+        if (old == null || old.getTimeRemaining() != state.getTimeRemaining()) {
+            timerLabel.setText("Time: " + state.getTimeRemaining());
+            timerLabel.setForeground(timerColor(state.getTimeRemaining()));
+        }
+        if (old == null || old.getWordsPerMinute() != state.getWordsPerMinute()
+                || old.getAccuracyPercent() != state.getAccuracyPercent()) {
+            wpmLabel.setText("WPM: " + state.getWordsPerMinute() + " (" + state.getAccuracyPercent() + "%)");
+        }
+        if (old == null || old.hasInputError() != state.hasInputError()) {
+            inputField.setForeground(state.hasInputError() ? Color.RED : Color.BLACK);
+        }
+    }
+
+    private static Color livesColor(int lives) {
+        if (lives <= 1) {
+            return Color.RED;
+        } else if (lives <= 2) {
+            return Color.ORANGE;
+        }
+        return Color.BLACK;
+    }
+
+    private static Color timerColor(int time) {
+        if (time <= 5) {
+            return Color.RED;
+        } else if (time <= 10) {
+            return Color.ORANGE;
+        }
+        return Color.BLACK;
+    }
+}
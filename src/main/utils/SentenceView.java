@@ -0,0 +1,238 @@
+package main.utils;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.LineBreakMeasurer;
+import java.awt.font.TextAttribute;
+import java.awt.font.TextLayout;
+import java.text.AttributedString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Paints the sentence to type with the typed part coloured: correct characters green,
+// the wrong stretch after the first mistake red, and the rest in the normal colour.
+// The sentence is broken into centred lines once with LineBreakMeasurer and the
+// TextLayouts are kept; each keystroke repaints only the bounds of the characters
+// whose colour changed. The next sentence can be laid out on another thread in advance.
+public class SentenceView extends JComponent {
+    private static final long serialVersionUID = 1L;
+
+    private static final Color CORRECT = new Color(0, 140, 0);
+    private static final Color WRONG = Color.RED;
+    private static final Color WRONG_BACKGROUND = new Color(255, 220, 220);
+    private static final int DEFAULT_WIDTH = 640;
+    private static final int MIN_LINES = 2;
+
+    // Antialiased, fractional metrics; fixed so a layout made off the EDT paints the same
+    private static final FontRenderContext FRC = new FontRenderContext(null, true, true);
+
+    private Layout layout = Layout.EMPTY;
+    private CompletableFuture<Layout> prepared;
+    private int matched; // Characters typed correctly from the start
+    private int typed;   // Characters typed in total
+
+    // Lines of one sentence, broken for a given width; immutable once built
+    private static final class Layout {
+        static final Layout EMPTY = new Layout("", null, 0, new TextLayout[0], new int[1], new float[0], new float[0], 0);
+
+        final String text;
+        final Font font;
+        final float width;
+        final TextLayout[] lines;
+        final int[] lineStart; // One extra entry: the end of the text
+        final float[] x;
+        final float[] baseline;
+        final float height;
+
+        Layout(String text, Font font, float width, TextLayout[] lines, int[] lineStart,
+               float[] x, float[] baseline, float height) {
+            this.text = text;
+            this.font = font;
+            this.width = width;
+            this.lines = lines;
+            this.lineStart = lineStart;
+            this.x = x;
+            this.baseline = baseline;
+            this.height = height;
+        }
+
+        static Layout build(String text, Font font, float width) {
+            if (text.isEmpty()) {
+                return new Layout(text, font, width, new TextLayout[0], new int[1], new float[0], new float[0], 0);
+            }
+            AttributedString attributed = new AttributedString(text);
+            attributed.addAttribute(TextAttribute.FONT, font);
+            LineBreakMeasurer measurer = new LineBreakMeasurer(attributed.getIterator(), FRC);
+
+            List<TextLayout> lines = new ArrayList<>();
+            List<Integer> starts = new ArrayList<>();
+            while (measurer.getPosition() < text.length()) {
+                starts.add(measurer.getPosition());
+                lines.add(measurer.nextLayout(width));
+            }
+
+            int count = lines.size();
+            int[] lineStart = new int[count + 1];
+            float[] x = new float[count];
+            float[] baseline = new float[count];
+            float y = 0;
+            for (int i = 0; i < count; i++) {
+                TextLayout line = lines.get(i);
+                lineStart[i] = starts.get(i);
+                x[i] = Math.max(0, (width - line.getAdvance()) / 2);
+                y += line.getAscent();
+                baseline[i] = y;
+                y += line.getDescent() + line.getLeading();
+            }
+            lineStart[count] = text.length();
+            return new Layout(text, font, width, lines.toArray(new TextLayout[0]), lineStart, x, baseline, y);
+        }
+
+        boolean fits(String text, Font font, float width) {
+            return this.text.equals(text) && font.equals(this.font) && this.width == width;
+        }
+    }
+
+    public SentenceView(Font font) {
+        setFont(font);
+        setForeground(Color.BLACK);
+        setOpaque(false);
+    }
+
+    // Shows a new sentence with nothing typed; uses the layout from prepare() if it matches
+    public void setSentence(String text) {
+        int oldLines = layout.lines.length;
+        Layout next = null;
+        if (prepared != null && prepared.isDone() && !prepared.isCompletedExceptionally()) {
+            next = prepared.join();
+        }
+        prepared = null;
+        if (next == null || !next.fits(text, getFont(), textWidth())) {
+            next = Layout.build(text, getFont(), textWidth());
+        }
+        layout = next;
+        matched = 0;
+        typed = 0;
+        if (Math.max(oldLines, MIN_LINES) != Math.max(layout.lines.length, MIN_LINES)) {
+            revalidate();
+        }
+        repaint();
+    }
+
+    public String getText() {
+        return layout.text;
+    }
+
+    // Lays out a sentence that is about to be shown on a background thread
+    public void prepare(String text) {
+        Font font = getFont();
+        float width = textWidth();
+        prepared = CompletableFuture.supplyAsync(() -> Layout.build(text, font, width));
+    }
+
+    // Updates the coloured ranges and repaints only the characters that changed colour
+    public void setProgress(int matched, int typed) {
+        int length = layout.text.length();
+        matched = Math.min(matched, length);
+        typed = Math.min(typed, length);
+        if (matched == this.matched && typed == this.typed) {
+            return;
+        }
+        repaintRange(Math.min(matched, this.matched), Math.max(matched, this.matched));
+        repaintRange(Math.min(typed, this.typed), Math.max(typed, this.typed));
+        this.matched = matched;
+        this.typed = typed;
+    }
+
+    private void repaintRange(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        Insets insets = getInsets();
+        for (int i = 0; i < layout.lines.length; i++) {
+            int start = Math.max(from, layout.lineStart[i]);
+            int end = Math.min(to, layout.lineStart[i + 1]);
+            if (start < end) {
+                Rectangle bounds = layout.lines[i].getLogicalHighlightShape(
+                        start - layout.lineStart[i], end - layout.lineStart[i]).getBounds();
+                bounds.translate(insets.left + (int) layout.x[i], insets.top + (int) layout.baseline[i]);
+                bounds.grow(2, 2); // Antialiasing can spill over the logical bounds
+                repaint(bounds);
+            }
+        }
+    }
+
+    private float textWidth() {
+        Insets insets = getInsets();
+        int width = getWidth() > 0 ? getWidth() : DEFAULT_WIDTH;
+        return Math.max(1, width - insets.left - insets.right);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        Insets insets = getInsets();
+        FontMetrics metrics = getFontMetrics(getFont());
+        int lines = Math.max(layout.lines.length, MIN_LINES);
+        int height = Math.max((int) Math.ceil(layout.height), lines * metrics.getHeight());
+        return new Dimension(DEFAULT_WIDTH, height + insets.top + insets.bottom);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        // A resize changes the line breaks
+        if (layout.lines.length > 0 && layout.width != textWidth()) {
+            layout = Layout.build(layout.text, getFont(), textWidth());
+        }
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+            Insets insets = getInsets();
+            g2.translate(insets.left, insets.top);
+
+            for (int i = 0; i < layout.lines.length; i++) {
+                TextLayout line = layout.lines[i];
+                int start = layout.lineStart[i];
+                int end = layout.lineStart[i + 1];
+                float x = layout.x[i];
+                float y = layout.baseline[i];
+
+                // Each range is drawn clipped to its own characters so no glyph is painted twice
+                paintRun(g2, line, start, end, 0, matched, CORRECT, null, x, y);
+                paintRun(g2, line, start, end, matched, typed, WRONG, WRONG_BACKGROUND, x, y);
+                paintRun(g2, line, start, end, typed, end, getForeground(), null, x, y);
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    private static void paintRun(Graphics2D g2, TextLayout line, int lineStart, int lineEnd, int from, int to,
+                                 Color color, Color background, float x, float y) {
+        int start = Math.max(from, lineStart);
+        int end = Math.min(to, lineEnd);
+        if (start >= end) {
+            return;
+        }
+        Shape run = line.getLogicalHighlightShape(start - lineStart, end - lineStart);
+        Graphics2D runGraphics = (Graphics2D) g2.create();
+        try {
+            runGraphics.translate(x, y);
+            if (background != null) {
+                runGraphics.setColor(background);
+                runGraphics.fill(run);
+            }
+            runGraphics.clip(run);
+            runGraphics.setColor(color);
+            line.draw(runGraphics, 0, 0);
+        } finally {
+            runGraphics.dispose();
+        }
+    }
+}
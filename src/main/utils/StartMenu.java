@@ -1,4 +1,5 @@
 package main.utils;
+import main.managers.CorpusCache;
 import main.managers.Player;
 import main.managers.Difficulty;
 
@@ -13,6 +14,9 @@ public class StartMenu extends JFrame {
     private JButton startButton;
 
     public StartMenu() {
+        // Load all sentence files in the background while the player picks a difficulty
+        CorpusCache.warmAll();
+
         setTitle("Typing Game - Start Menu");
         setSize(400, 300);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
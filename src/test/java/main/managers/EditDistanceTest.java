@@ -0,0 +1,158 @@
+package main.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The bit-parallel distances must match the textbook DP, including across 64-character blocks
+class EditDistanceTest {
+    private static final int TRIALS = 500;
+
+    // Full (m + 1) x (n + 1) Levenshtein table
+    private static int[][] table(String pattern, String text) {
+        int m = pattern.length();
+        int n = text.length();
+        int[][] d = new int[m + 1][n + 1];
+        for (int i = 0; i <= m; i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= n; j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= m; i++) {
+            for (int j = 1; j <= n; j++) {
+                int substitute = d[i - 1][j - 1] + (pattern.charAt(i - 1) == text.charAt(j - 1) ? 0 : 1);
+                d[i][j] = Math.min(substitute, Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+            }
+        }
+        return d;
+    }
+
+    private static int distance(String pattern, String text) {
+        return table(pattern, text)[pattern.length()][text.length()];
+    }
+
+    private static int prefixDistance(String pattern, String text) {
+        int[][] d = table(pattern, text);
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i <= pattern.length(); i++) {
+            best = Math.min(best, d[i][text.length()]);
+        }
+        return best;
+    }
+
+    // Lengths cluster around the block boundaries at 64 and 128
+    private static String randomText(Random random, int alphabet) {
+        int[] anchors = {0, 1, 63, 64, 65, 127, 128, 129};
+        int length = random.nextInt(4) == 0
+                ? random.nextInt(200)
+                : Math.max(0, anchors[random.nextInt(anchors.length)] + random.nextInt(3) - 1);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            // Now and then a character above 255 takes the wide-mask path
+            sb.append(random.nextInt(50) == 0 ? '\u0416' : (char) ('a' + random.nextInt(alphabet)));
+        }
+        return sb.toString();
+    }
+
+    // Mostly the pattern with a few typos, so distances stay small like real typing
+    private static String typed(Random random, String pattern, int alphabet) {
+        StringBuilder sb = new StringBuilder(pattern);
+        int edits = random.nextInt(6);
+        for (int e = 0; e < edits; e++) {
+            int at = random.nextInt(sb.length() + 1);
+            int kind = random.nextInt(3);
+            if (kind == 0 || sb.length() == 0) {
+                sb.insert(at, (char) ('a' + random.nextInt(alphabet)));
+            } else if (at == sb.length()) {
+                sb.deleteCharAt(at - 1);
+            } else if (kind == 1) {
+                sb.deleteCharAt(at);
+            } else {
+                sb.setCharAt(at, (char) ('a' + random.nextInt(alphabet)));
+            }
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void distanceMatchesNaiveDp() {
+        Random random = new Random(1);
+        EditDistance editDistance = new EditDistance();
+        for (int trial = 0; trial < TRIALS; trial++) {
+            int alphabet = 2 + random.nextInt(4);
+            String pattern = randomText(random, alphabet);
+            String text = random.nextBoolean() ? randomText(random, alphabet) : typed(random, pattern, alphabet);
+            editDistance.setPattern(pattern);
+            assertEquals(distance(pattern, text), editDistance.distance(text), pattern + " / " + text);
+        }
+    }
+
+    @Test
+    void boundedDistanceIsExactWithinTheBound() {
+        Random random = new Random(2);
+        EditDistance editDistance = new EditDistance();
+        for (int trial = 0; trial < TRIALS; trial++) {
+            int alphabet = 2 + random.nextInt(4);
+            String pattern = randomText(random, alphabet);
+            String text = typed(random, pattern, alphabet);
+            int exact = distance(pattern, text);
+            int bound = random.nextInt(8);
+            editDistance.setPattern(pattern);
+            assertEquals(exact <= bound ? exact : bound + 1, editDistance.distance(text, bound),
+                    pattern + " / " + text + " within " + bound);
+        }
+    }
+
+    @Test
+    void streamingTracksEveryColumn() {
+        Random random = new Random(3);
+        EditDistance editDistance = new EditDistance();
+        for (int trial = 0; trial < TRIALS / 5; trial++) {
+            int alphabet = 2 + random.nextInt(4);
+            String pattern = randomText(random, alphabet);
+            String text = typed(random, pattern, alphabet);
+            editDistance.setPattern(pattern);
+            for (int j = 0; j < text.length(); j++) {
+                editDistance.append(text.charAt(j));
+                String streamed = text.substring(0, j + 1);
+                assertEquals(distance(pattern, streamed), editDistance.getDistance(), pattern + " / " + streamed);
+                assertEquals(prefixDistance(pattern, streamed), editDistance.getPrefixDistance(),
+                        "prefix " + pattern + " / " + streamed);
+            }
+        }
+    }
+
+    @Test
+    void truncateRestoresEarlierColumns() {
+        Random random = new Random(4);
+        EditDistance editDistance = new EditDistance(true);
+        for (int trial = 0; trial < TRIALS; trial++) {
+            int alphabet = 2 + random.nextInt(4);
+            String pattern = randomText(random, alphabet);
+            String text = typed(random, pattern, alphabet);
+            editDistance.setPattern(pattern);
+            for (int j = 0; j < text.length(); j++) {
+                editDistance.append(text.charAt(j));
+            }
+
+            int kept = random.nextInt(text.length() + 1);
+            editDistance.truncate(kept);
+            String remaining = text.substring(0, kept);
+            assertEquals(kept, editDistance.getTextLength());
+            assertEquals(distance(pattern, remaining), editDistance.getDistance(), pattern + " / " + remaining);
+            assertEquals(prefixDistance(pattern, remaining), editDistance.getPrefixDistance(),
+                    "prefix " + pattern + " / " + remaining);
+
+            // Streaming on from the restored column must agree with a fresh run
+            String extra = randomText(random, alphabet);
+            String replaced = remaining + extra.substring(0, Math.min(5, extra.length()));
+            for (int j = kept; j < replaced.length(); j++) {
+                editDistance.append(replaced.charAt(j));
+            }
+            assertEquals(distance(pattern, replaced), editDistance.getDistance(), pattern + " / " + replaced);
+        }
+    }
+}
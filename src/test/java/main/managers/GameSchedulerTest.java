@@ -0,0 +1,113 @@
+package main.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameSchedulerTest {
+    private static final long SLACK_MILLIS = 100;
+
+    @Test
+    void tasksRunInDeadlineOrderAndNotEarly() throws Exception {
+        GameScheduler scheduler = new GameScheduler();
+        try {
+            List<Integer> order = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(4);
+            long start = scheduler.nanoTime();
+            long[] ranAt = new long[4];
+            int[] delays = {120, 15, 2700, 60}; // 2.7 s is more than one turn of the wheel
+            for (int i = 0; i < delays.length; i++) {
+                int task = i;
+                scheduler.schedule(delays[i], TimeUnit.MILLISECONDS, () -> {
+                    ranAt[task] = scheduler.nanoTime() - start;
+                    order.add(task);
+                    done.countDown();
+                });
+            }
+
+            assertTrue(done.await(5, TimeUnit.SECONDS), "every task ran");
+            assertEquals(List.of(1, 3, 0, 2), order);
+            for (int i = 0; i < delays.length; i++) {
+                long late = TimeUnit.NANOSECONDS.toMillis(ranAt[i]) - delays[i];
+                assertTrue(late >= 0 && late < SLACK_MILLIS, "task " + i + " ran " + late + " ms after its delay");
+            }
+            assertEquals(0, scheduler.getPendingCount());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void cancelledTasksNeverRun() throws Exception {
+        GameScheduler scheduler = new GameScheduler();
+        try {
+            AtomicInteger ran = new AtomicInteger();
+            GameScheduler.Task cancelled = scheduler.schedule(30, TimeUnit.MILLISECONDS, ran::incrementAndGet);
+            CountDownLatch kept = new CountDownLatch(1);
+            GameScheduler.Task other = scheduler.schedule(60, TimeUnit.MILLISECONDS, kept::countDown);
+
+            assertTrue(cancelled.cancel());
+            assertFalse(cancelled.cancel(), "second cancel");
+            assertTrue(cancelled.isCancelled());
+            assertEquals(1, scheduler.getPendingCount());
+
+            assertTrue(kept.await(2, TimeUnit.SECONDS), "the other task still ran");
+            Thread.sleep(50);
+            assertEquals(0, ran.get());
+            assertTrue(other.isDone());
+            assertFalse(other.cancel(), "cancel after running");
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void pauseFreezesPendingTasks() throws Exception {
+        GameScheduler scheduler = new GameScheduler();
+        try {
+            CountDownLatch ran = new CountDownLatch(1);
+            long realStart = System.nanoTime();
+            scheduler.schedule(100, TimeUnit.MILLISECONDS, ran::countDown);
+
+            Thread.sleep(30);
+            scheduler.pause();
+            assertTrue(scheduler.isPaused());
+            long frozen = scheduler.nanoTime();
+            Thread.sleep(200);
+            assertEquals(frozen, scheduler.nanoTime(), "game clock stands still while paused");
+            assertEquals(1, ran.getCount(), "nothing runs while paused");
+
+            scheduler.resume();
+            assertTrue(ran.await(2, TimeUnit.SECONDS), "task ran after resume");
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - realStart);
+            // 100 ms of game time plus about 200 ms paused
+            assertTrue(elapsed >= 300, "ran after " + elapsed + " ms");
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void shutdownDropsPendingAndLaterTasks() throws Exception {
+        GameScheduler scheduler = new GameScheduler();
+        AtomicInteger ran = new AtomicInteger();
+        GameScheduler.Task pending = scheduler.schedule(50, TimeUnit.MILLISECONDS, ran::incrementAndGet);
+
+        scheduler.shutdown();
+        GameScheduler.Task late = scheduler.schedule(0, TimeUnit.MILLISECONDS, ran::incrementAndGet);
+
+        Thread.sleep(100);
+        assertEquals(0, ran.get());
+        assertTrue(pending.isCancelled());
+        assertTrue(late.isCancelled());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+}
@@ -0,0 +1,71 @@
+package main.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Many threads save overlapping players' scores at once; every player's best must survive
+// in memory and in the file written by the group commits
+class HighScoreManagerStressTest {
+    private static final int THREADS = 8;
+    private static final int SAVES_PER_THREAD = 20_000;
+    private static final int PLAYERS = 300;
+
+    @Test
+    void concurrentSavesLoseNoUpdates() throws Exception {
+        Path dir = Files.createTempDirectory("score-stress");
+        Path file = dir.resolve("highscores.txt");
+        HighScoreManager manager = new HighScoreManager(file.toString());
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Map<String, Integer>>> results = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            results.add(pool.submit(() -> {
+                // Each thread keeps its own maxima, merged once everyone is done
+                Map<String, Integer> best = new HashMap<>();
+                Random rand = new Random(seed);
+                start.await();
+                for (int i = 0; i < SAVES_PER_THREAD; i++) {
+                    String name = "player" + rand.nextInt(PLAYERS);
+                    int score = rand.nextInt(1_000_000);
+                    manager.saveScore(name, score);
+                    best.merge(name, score, Math::max);
+                }
+                return best;
+            }));
+        }
+        start.countDown();
+
+        Map<String, Integer> expected = new HashMap<>();
+        for (Future<Map<String, Integer>> result : results) {
+            result.get(2, TimeUnit.MINUTES).forEach((name, score) -> expected.merge(name, score, Math::max));
+        }
+        pool.shutdown();
+
+        assertEquals(expected, manager.snapshot().toMap(), "in-memory snapshot");
+
+        // A copy of the flushed file is replayed by a new log, not the one cached for the original path
+        manager.flushAsync().get(1, TimeUnit.MINUTES);
+        Path copy = dir.resolve("replayed.txt");
+        Files.copy(file, copy);
+        ScoreLog replayed = ScoreLog.open(copy.toString());
+        assertTrue(replayed != ScoreLog.open(file.toString()), "replay used the cached log");
+        assertEquals(expected, replayed.snapshot().toMap(), "replayed file");
+    }
+}
@@ -0,0 +1,90 @@
+package main.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// The treap must agree with a plain sorted list after any sequence of score updates
+class LeaderboardIndexTest {
+
+    // Best score per player, sorted like the leaderboard: score descending, then name
+    private static List<Map.Entry<String, Integer>> sorted(Map<String, Integer> best) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : best.entrySet()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+        }
+        entries.sort((a, b) -> !a.getValue().equals(b.getValue())
+                ? Integer.compare(b.getValue(), a.getValue())
+                : a.getKey().compareTo(b.getKey()));
+        return entries;
+    }
+
+    @Test
+    void matchesSortedListAfterRandomUpdates() {
+        Random random = new Random(5);
+        Map<String, Integer> best = new HashMap<>();
+        LeaderboardIndex index = LeaderboardIndex.EMPTY;
+
+        for (int step = 0; step < 3000; step++) {
+            String name = "p" + random.nextInt(200);
+            int score = random.nextInt(50); // Few distinct scores, so names break many ties
+            Integer old = best.get(name);
+            if (old == null || score > old) {
+                index = index.update(name, old, score);
+                best.put(name, score);
+            }
+
+            if (step % 50 == 0) {
+                List<Map.Entry<String, Integer>> expected = sorted(best);
+                assertEquals(expected.size(), index.size());
+                assertEquals(expected.subList(0, Math.min(10, expected.size())), index.topScores(10));
+                assertEquals(expected, index.topScores(expected.size() + 5));
+
+                for (int rank = 1; rank <= expected.size(); rank++) {
+                    Map.Entry<String, Integer> entry = expected.get(rank - 1);
+                    assertEquals(entry, index.entryAt(rank));
+                    assertEquals(rank, index.rankOf(entry.getKey(), entry.getValue()), "rank of " + entry);
+                }
+                assertNull(index.entryAt(0));
+                assertNull(index.entryAt(expected.size() + 1));
+
+                int rank = 1 + random.nextInt(expected.size());
+                int radius = random.nextInt(5);
+                int from = Math.max(1, rank - radius);
+                int to = Math.min(expected.size(), rank + radius);
+                assertEquals(expected.subList(from - 1, to), index.around(rank, radius), "around " + rank);
+            }
+        }
+    }
+
+    @Test
+    void rankOfUnknownEntryIsWhereItWouldGo() {
+        LeaderboardIndex index = LeaderboardIndex.EMPTY
+                .update("bob", null, 30)
+                .update("alice", null, 20)
+                .update("carol", null, 20);
+
+        assertEquals(1, index.rankOf("zed", 40));
+        assertEquals(2, index.rankOf("aaron", 20)); // Ahead of alice on the name
+        assertEquals(3, index.rankOf("bill", 20));
+        assertEquals(4, index.rankOf("dave", 10));
+    }
+
+    @Test
+    void updatesLeaveEarlierIndexesUnchanged() {
+        LeaderboardIndex before = LeaderboardIndex.EMPTY.update("alice", null, 10).update("bob", null, 20);
+        LeaderboardIndex after = before.update("alice", 10, 30);
+
+        assertEquals("bob", before.entryAt(1).getKey());
+        assertEquals("alice", after.entryAt(1).getKey());
+        assertEquals(2, after.size());
+    }
+}
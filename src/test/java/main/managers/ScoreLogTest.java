@@ -0,0 +1,35 @@
+package main.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScoreLogTest {
+
+    @Test
+    void failedFlushReportsTheErrorAndKeepsTheLines() throws Exception {
+        Path dir = Files.createTempDirectory("score-log");
+        Path file = dir.resolve("highscores.txt");
+        // A directory in the log's place makes every write fail
+        Files.createDirectory(file);
+        ScoreLog log = ScoreLog.open(file.toString());
+
+        log.record("alice", 40);
+        assertThrows(ExecutionException.class, () -> log.flushAsync().get());
+
+        Files.delete(file);
+        log.record("bob", 30);
+        log.flushAsync().get();
+
+        assertEquals(List.of("alice:40", "bob:30"), Files.readAllLines(file));
+        ScoreLog replayed = ScoreLog.open(Files.copy(file, dir.resolve("replayed.txt")).toString());
+        assertEquals(40, (int) replayed.getBestScore("alice"));
+        assertEquals(30, (int) replayed.getBestScore("bob"));
+    }
+}
@@ -0,0 +1,110 @@
+package main.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Parsing must behave like BufferedReader.readLine plus trim, and a reload that reuses
+// the unchanged prefix must give the same sentences as parsing the file from scratch
+class SentenceCorpusTest {
+    private static final String[] ENDINGS = {"\n", "\r\n", "\r"};
+
+    private static List<String> sentences(SentenceCorpus corpus) {
+        List<String> result = new ArrayList<>(corpus.size());
+        for (int i = 0; i < corpus.size(); i++) {
+            result.add(corpus.get(i));
+        }
+        return result;
+    }
+
+    private static List<String> expected(String text) {
+        List<String> result = new ArrayList<>();
+        for (String line : text.split("\r\n|\r|\n")) {
+            if (!line.trim().isEmpty()) {
+                result.add(line.trim());
+            }
+        }
+        return result;
+    }
+
+    private static String randomFile(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int lines = random.nextInt(40);
+        for (int i = 0; i < lines; i++) {
+            if (random.nextInt(8) == 0) {
+                sb.append("   ");
+            } else {
+                sb.append(random.nextBoolean() ? " " : "").append("Sentence ").append(random.nextInt(1000))
+                        .append(random.nextInt(5) == 0 ? " café" : "").append(random.nextBoolean() ? "\t" : "");
+            }
+            sb.append(ENDINGS[random.nextInt(ENDINGS.length)]);
+        }
+        return sb.toString();
+    }
+
+    // Replaces, inserts or cuts text at a random point, keeping everything before it
+    private static String edit(Random random, String text) {
+        int at = random.nextInt(text.length() + 1);
+        switch (random.nextInt(3)) {
+            case 0:
+                return text.substring(0, at) + randomFile(random);
+            case 1:
+                return text.substring(0, at) + "x" + text.substring(at);
+            default:
+                return text.substring(0, at);
+        }
+    }
+
+    @Test
+    void parsesLikeReadLineAndTrim() {
+        Random random = new Random(6);
+        for (int trial = 0; trial < 300; trial++) {
+            String text = randomFile(random);
+            SentenceCorpus corpus = SentenceCorpus.fromBytes(text.getBytes(StandardCharsets.UTF_8));
+            assertEquals(expected(text), sentences(corpus), text);
+        }
+    }
+
+    @Test
+    void reloadMatchesFreshParse() throws Exception {
+        Random random = new Random(7);
+        Path file = Files.createTempFile("sentences", ".txt");
+        for (int trial = 0; trial < 300; trial++) {
+            String text = randomFile(random);
+            Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+            SentenceCorpus corpus = SentenceCorpus.fromFile(file);
+
+            for (int round = 0; round < 5; round++) {
+                text = edit(random, text);
+                Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+                corpus = SentenceCorpus.reload(file, corpus);
+                assertEquals(expected(text), sentences(corpus), text);
+            }
+        }
+        Files.delete(file);
+    }
+
+    @Test
+    void mappedFileMatchesHeapParse() throws Exception {
+        Random random = new Random(8);
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 9 * 1024 * 1024) { // Above the 8 MB mapping threshold
+            sb.append(randomFile(random));
+        }
+        String text = sb.toString();
+        Path file = Files.createTempFile("sentences", ".txt");
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+
+        SentenceCorpus mapped = SentenceCorpus.fromFile(file);
+        SentenceCorpus heap = SentenceCorpus.fromBytes(text.getBytes(StandardCharsets.UTF_8));
+        assertEquals(sentences(heap), sentences(mapped));
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,55 @@
+package main.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SentenceSamplerTest {
+
+    @Test
+    void everyCycleIsAPermutation() {
+        for (int size : new int[] {1, 2, 7, 100}) {
+            SentenceSampler sampler = new SentenceSampler(size, new Random(size));
+            for (int cycle = 0; cycle < 20; cycle++) {
+                boolean[] seen = new boolean[size];
+                for (int draw = 0; draw < size; draw++) {
+                    int index = sampler.next();
+                    assertTrue(index >= 0 && index < size, "index " + index + " of " + size);
+                    assertFalse(seen[index], "index " + index + " repeated in cycle " + cycle);
+                    seen[index] = true;
+                    assertEquals(size - draw - 1, sampler.remaining());
+                }
+            }
+        }
+    }
+
+    @Test
+    void cyclesAreShuffledIndependently() {
+        int size = 10;
+        SentenceSampler sampler = new SentenceSampler(size, new Random(9));
+        int[] opened = new int[size]; // How often each index opens a cycle
+        int cycles = 5000;
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            opened[sampler.next()]++;
+            for (int draw = 1; draw < size; draw++) {
+                sampler.next();
+            }
+        }
+        // Each index should open about a tenth of the cycles
+        for (int index = 0; index < size; index++) {
+            int count = opened[index];
+            assertTrue(count > cycles / size / 2 && count < cycles / size * 2,
+                    "index " + index + " opened " + count + " of " + cycles + " cycles");
+        }
+    }
+
+    @Test
+    void rejectsEmptyCorpus() {
+        assertThrows(IllegalArgumentException.class, () -> new SentenceSampler(0, new Random()));
+    }
+}
@@ -0,0 +1,80 @@
+package main.managers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import javax.swing.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A full 60 s countdown with a saturated EDT and time bonuses added along the way
+// must report time up within 10 ms of the deadline, and only ever on the EDT
+class TimerManagerDriftTest {
+    private static final int GAME_SECONDS = 60;
+    private static final long MAX_DRIFT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long BUSY_TASK_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final int BONUSES = 20;
+    private static final long BONUS_MILLIS = 37;
+
+    @Test
+    @Timeout(90)
+    void countdownEndsOnTimeWhileEdtIsBusy() throws Exception {
+        GameScheduler scheduler = new GameScheduler();
+        CountDownLatch timeUp = new CountDownLatch(1);
+        AtomicLong timeUpNanos = new AtomicLong();
+        AtomicBoolean offEdt = new AtomicBoolean();
+
+        TimerManager timer = new TimerManager(GAME_SECONDS, new TimerManager.TimerCallback() {
+            @Override
+            public void onTimeUpdate(int timeRemaining) {
+                if (!SwingUtilities.isEventDispatchThread()) {
+                    offEdt.set(true);
+                }
+            }
+
+            @Override
+            public void onTimeUp() {
+                timeUpNanos.set(System.nanoTime());
+                timeUp.countDown();
+            }
+        }, scheduler);
+
+        // Keeps the EDT busy: each task spins for a while and queues the next one
+        AtomicBoolean loading = new AtomicBoolean(true);
+        Runnable busy = new Runnable() {
+            @Override
+            public void run() {
+                long start = System.nanoTime();
+                while (System.nanoTime() - start < BUSY_TASK_NANOS) {
+                    Thread.onSpinWait();
+                }
+                if (loading.get()) {
+                    SwingUtilities.invokeLater(this);
+                }
+            }
+        };
+        SwingUtilities.invokeLater(busy);
+
+        long startNanos = System.nanoTime();
+        timer.start();
+
+        // Bonuses come from this thread, so their time updates must still be handed to the EDT
+        for (int i = 0; i < BONUSES; i++) {
+            Thread.sleep(2000);
+            timer.addTimeMillis(BONUS_MILLIS);
+        }
+
+        assertTrue(timeUp.await(GAME_SECONDS + 20, TimeUnit.SECONDS), "time up never reported");
+        loading.set(false);
+        scheduler.shutdown();
+
+        long expected = TimeUnit.SECONDS.toNanos(GAME_SECONDS) + TimeUnit.MILLISECONDS.toNanos(BONUSES * BONUS_MILLIS);
+        long drift = timeUpNanos.get() - startNanos - expected;
+        assertTrue(Math.abs(drift) < MAX_DRIFT_NANOS, "countdown drifted by " + drift / 1e6 + " ms");
+        assertTrue(!offEdt.get(), "time update delivered off the EDT");
+    }
+}
@@ -0,0 +1,79 @@
+package main.managers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Edits in the middle of the input must leave the matcher as if the result had been typed fresh
+class TypingMatcherTest {
+
+    private static TypingMatcher typed(String sentence, String input) {
+        TypingMatcher matcher = new TypingMatcher();
+        matcher.reset(sentence);
+        matcher.insert(0, input, 0);
+        return matcher;
+    }
+
+    @Test
+    void deletingTheFirstWrongCharacterCompletesTheMatch() {
+        TypingMatcher matcher = typed("abc", "abxc");
+        assertEquals(2, matcher.getErrorPosition());
+
+        matcher.remove(2, 1);
+
+        assertEquals(3, matcher.getMatchedLength());
+        assertEquals(-1, matcher.getErrorPosition());
+        assertEquals(0, matcher.getMistakes());
+        assertTrue(matcher.isComplete(), "abc typed after deleting the x");
+    }
+
+    @Test
+    void deletingBeforeTheErrorMovesIt() {
+        TypingMatcher matcher = typed("abcd", "abbcx");
+
+        matcher.remove(1, 1);
+
+        assertEquals(3, matcher.getMatchedLength());
+        assertEquals(3, matcher.getErrorPosition());
+        assertEquals(1, matcher.getMistakes());
+    }
+
+    @Test
+    void insertingTheMissingCharacterCompletesTheMatch() {
+        TypingMatcher matcher = typed("abcd", "abd");
+        assertEquals(2, matcher.getErrorPosition());
+
+        matcher.insert(2, "c", 0);
+
+        assertEquals(4, matcher.getMatchedLength());
+        assertTrue(matcher.isComplete(), "abcd typed after inserting the c");
+        assertEquals(0, matcher.getMistakes());
+    }
+
+    @Test
+    void insertingInTheMiddleBreaksTheMatch() {
+        TypingMatcher matcher = typed("abcd", "abcd");
+
+        matcher.insert(1, "x", 0);
+
+        assertEquals(1, matcher.getMatchedLength());
+        assertEquals(1, matcher.getErrorPosition());
+        assertEquals(1, matcher.getMistakes());
+        assertFalse(matcher.isComplete(), "axbcd is not the sentence");
+    }
+
+    @Test
+    void trailingEditsTrackMistakes() {
+        TypingMatcher matcher = typed("hello world", "hellp");
+        assertEquals(1, matcher.getMistakes());
+
+        matcher.remove(4, 1);
+        assertEquals(0, matcher.getMistakes());
+        assertEquals(-1, matcher.getErrorPosition());
+
+        matcher.insert(4, "o world", 0);
+        assertTrue(matcher.isComplete(), "the whole sentence typed");
+    }
+}